@@ -0,0 +1,76 @@
+// application/PgnArchiver.java
+package application;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import chess.ChessMatch;
+import chess.archive.ArchivedGame;
+import chess.archive.GameArchive;
+import chess.archive.GameArchiveWriter;
+import chess.archive.PgnConverter;
+import chess.pgn.PgnReader;
+import chess.pgn.San;
+
+// Arquivo binário de partidas:
+//   java application.PgnArchiver partidas.pgn partidas.bin   converte o PGN e mostra o tamanho em relação ao original
+//   java application.PgnArchiver partidas.bin N              mostra a partida N (a partir de 0) em PGN
+public class PgnArchiver {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Uso: java application.PgnArchiver partidas.pgn partidas.bin");
+            System.out.println("     java application.PgnArchiver partidas.bin N");
+            return;
+        }
+        if (args[1].matches("\\d+")) {
+            show(Paths.get(args[0]), Long.parseLong(args[1]));
+        } else {
+            convert(Paths.get(args[0]), Paths.get(args[1]));
+        }
+    }
+
+    private static void convert(Path pgn, Path archive) throws Exception {
+        long start = System.nanoTime();
+        PgnConverter converter;
+        try (PgnReader reader = PgnReader.open(pgn); GameArchiveWriter writer = new GameArchiveWriter(archive)) {
+            converter = new PgnConverter(writer, System.out::println);
+            converter.convert(reader);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long pgnSize = Files.size(pgn);
+        long archiveSize = Files.size(archive);
+        System.out.printf("%d partidas, %d lances gravados (%d rejeitadas) em %.1f s%n", converter.getGames(),
+                converter.getMoves(), converter.getErrors(), seconds);
+        System.out.printf("PGN: %d bytes, arquivo: %d bytes (%.1f%%)%n", pgnSize, archiveSize,
+                100.0 * archiveSize / Math.max(1, pgnSize));
+    }
+
+    private static void show(Path archive, long number) throws Exception {
+        ArchivedGame game = GameArchive.open(archive).read(number);
+        for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            System.out.println("[" + tag.getKey() + " \"" + tag.getValue().replace("\\", "\\\\").replace("\"", "\\\"")
+                    + "\"]");
+        }
+        System.out.println();
+
+        ChessMatch match = (game.getFen() != null) ? ChessMatch.fromFen(game.getFen()) : new ChessMatch();
+        int[] buffer = new int[ChessMatch.MAX_LEGAL_MOVES];
+        String[] fields = match.toFen().split(" ");
+        boolean whiteStarts = fields[1].equals("w");
+        int firstMove = Integer.parseInt(fields[5]);
+        StringBuilder text = new StringBuilder();
+        int[] moves = game.getMoves();
+        for (int i = 0; i < moves.length; i++) {
+            boolean white = whiteStarts == (i % 2 == 0);
+            if (white || i == 0) {
+                text.append(firstMove + (whiteStarts ? i : i + 1) / 2).append(white ? ". " : "... ");
+            }
+            text.append(San.toString(match, moves[i], buffer)).append(' ');
+            match.makeMove(moves[i]);
+        }
+        System.out.println(text.append(game.getResult()));
+    }
+}
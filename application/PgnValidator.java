@@ -0,0 +1,47 @@
+// application/PgnValidator.java
+package application;
+
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import chess.pgn.PgnReader;
+import chess.pgn.PgnReplay;
+import chess.pgn.ReplayStats;
+
+// Valida um arquivo PGN reproduzindo todas as partidas: java application.PgnValidator partidas.pgn [threads]
+// Mostra o progresso (partidas/s) a cada segundo e cada partida rejeitada; sai com código 1 se houver erros.
+public class PgnValidator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Uso: java application.PgnValidator partidas.pgn [threads]");
+            return;
+        }
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        PgnReplay replay = new PgnReplay(threads, error -> {
+            synchronized (System.out) {
+                System.out.println(error);
+            }
+        });
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pgn-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> System.out.println(replay.stats()), 1, 1, TimeUnit.SECONDS);
+
+        ReplayStats stats;
+        try (PgnReader reader = PgnReader.open(Paths.get(args[0]))) {
+            stats = replay.run(reader);
+        } finally {
+            progress.shutdownNow();
+        }
+        System.out.println(stats);
+        if (stats.getErrors() > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -3,32 +3,84 @@ package application;
 
 import chess.ChessException;
 import chess.ChessMatch;
+import chess.ChessPiece;
 import chess.ChessPosition;
+import chess.Move;
+import chess.engine.OpeningBook;
+import chess.engine.ParallelSearch;
+import chess.engine.Search;
+import chess.engine.SearchResult;
+import chess.enums.Color;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.Random;
 import java.util.Scanner;
 
 public class Program {
 
+    private static final long ENGINE_TIME_MILLIS = 3000; // Tempo de reflexão do computador por lance
+
+    // Argumentos opcionais: número de threads da busca do computador (padrão: um por processador) e arquivo do
+    // livro de aberturas (gerado pelo OpeningBookWriter)
     public static void main(String[] args) {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        OpeningBook book = (args.length > 1) ? openBook(args[1]) : null;
+        Random random = new Random();
         Scanner sc = new Scanner(System.in);
         ChessMatch chessMatch = new ChessMatch();
         List<ChessPiece> captured = new ArrayList<>(); // Lista de peças capturadas
+        int[] moves = new int[ChessPiece.MAX_MOVES]; // Buffer reutilizado para os movimentos possíveis
+
+        Color engineColor = readGameMode(sc); // Cor do computador, ou null para dois jogadores
+        ParallelSearch search = (engineColor != null) ? new ParallelSearch(chessMatch, threads) : null;
+        String lastEngineMove = null;
 
         while (!chessMatch.getCheckMate()) {
             try {
+                if (chessMatch.getCurrentPlayer() == engineColor) { // Vez do computador
+                    UI.clearScreen();
+                    UI.printMatch(chessMatch, captured);
+                    System.out.println();
+                    int bookMove = (book != null) ? book.randomMove(chessMatch, random) : Move.NONE;
+                    if (bookMove != Move.NONE) { // Ainda no livro: joga sem buscar
+                        ChessPiece capturedPiece = chessMatch.performChessMove(bookMove);
+                        if (capturedPiece != null) {
+                            captured.add(capturedPiece);
+                        }
+                        lastEngineMove = Move.toString(bookMove) + " (livro de aberturas)";
+                        continue;
+                    }
+                    System.out.println("Computador pensando...");
+                    SearchResult result = search.search(Search.MAX_PLY, ENGINE_TIME_MILLIS);
+                    if (result.getBestMove() == Move.NONE) {
+                        System.out.println("Empate por afogamento!");
+                        break;
+                    }
+                    ChessPiece capturedPiece = chessMatch.performChessMove(result.getBestMove());
+                    if (capturedPiece != null) {
+                        captured.add(capturedPiece);
+                    }
+                    lastEngineMove = result.toString();
+                    continue;
+                }
+
                 UI.clearScreen(); // Limpa a tela do console
                 UI.printMatch(chessMatch, captured); // Imprime o tabuleiro e informações da partida
+                if (lastEngineMove != null) {
+                    System.out.println("Lance do computador: " + lastEngineMove);
+                }
 
                 System.out.println();
                 System.out.print("Origem: ");
                 ChessPosition source = UI.readChessPosition(sc); // Lê a posição de origem
 
-                boolean[][] possibleMoves = chessMatch.possibleMoves(source);
+                int count = chessMatch.possibleMoves(source, moves);
                 UI.clearScreen();
-                UI.printBoard(chessMatch.getPieces(), possibleMoves); // Imprime tabuleiro com movimentos possíveis
+                UI.printBoard(chessMatch.getPieces(), moves, count); // Imprime tabuleiro com movimentos possíveis
 
                 System.out.println();
                 System.out.print("Destino: ");
@@ -62,4 +114,34 @@ public class Program {
         UI.printMatch(chessMatch, captured); // Imprime o tabuleiro final com o resultado
         sc.close();
     }
+
+    // Sem o livro o computador ainda joga, só que buscando desde o primeiro lance
+    private static OpeningBook openBook(String path) {
+        try {
+            return OpeningBook.open(Paths.get(path));
+        } catch (IOException e) {
+            System.out.println("Não foi possível abrir o livro de aberturas: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Pergunta o modo de jogo; no modo contra o computador, o jogador escolhe sua cor
+    private static Color readGameMode(Scanner sc) {
+        System.out.print("Modo de jogo (1 - dois jogadores, 2 - contra o computador): ");
+        String mode = sc.nextLine().trim();
+        while (!mode.equals("1") && !mode.equals("2")) {
+            System.out.print("Valor inválido! Modo de jogo (1 ou 2): ");
+            mode = sc.nextLine().trim();
+        }
+        if (mode.equals("1")) {
+            return null;
+        }
+        System.out.print("Jogar com as brancas ou pretas? (B/P): ");
+        String color = sc.nextLine().trim().toUpperCase();
+        while (!color.equals("B") && !color.equals("P")) {
+            System.out.print("Valor inválido! Jogar com as brancas ou pretas? (B/P): ");
+            color = sc.nextLine().trim().toUpperCase();
+        }
+        return color.equals("B") ? Color.BLACK : Color.WHITE;
+    }
 }
@@ -1,9 +1,11 @@
 // application/UI.java
 package application;
 
+import board.Board;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.ChessPosition;
+import chess.Move;
 import chess.enums.Color;
 
 import java.util.Arrays;
@@ -84,18 +86,28 @@ public class UI {
         System.out.println("  a b c d e f g h"); // Letras das colunas
     }
 
-    // Imprime o tabuleiro com movimentos possíveis destacados
-    public static void printBoard(ChessPiece[][] pieces, boolean[][] possibleMoves) {
+    // Imprime o tabuleiro com movimentos possíveis destacados (os count primeiros lances de moves)
+    public static void printBoard(ChessPiece[][] pieces, int[] moves, int count) {
         for (int i = 0; i < pieces.length; i++) {
             System.out.print((8 - i) + " ");
             for (int j = 0; j < pieces.length; j++) {
-                printPiece(pieces[i][j], possibleMoves[i][j]); // Destaca se for um movimento possível
+                printPiece(pieces[i][j], isTarget(moves, count, Board.square(i, j))); // Destaca se for um movimento possível
             }
             System.out.println();
         }
         System.out.println("  a b c d e f g h");
     }
 
+    // Verifica se algum dos lances termina na casa informada
+    private static boolean isTarget(int[] moves, int count, int square) {
+        for (int i = 0; i < count; i++) {
+            if (Move.to(moves[i]) == square) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Imprime uma peça individualmente, com ou sem destaque
     private static void printPiece(ChessPiece piece, boolean background) {
         if (background) {
@@ -0,0 +1,310 @@
+// application/Uci.java
+package application;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Move;
+import chess.engine.ParallelSearch;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+import chess.enums.Color;
+
+// Protocolo UCI, para usar o motor em interfaces gráficas e gerenciadores de torneio: java application.Uci [threads]
+// A thread principal só lê comandos; a busca roda numa thread própria, então stop e isready são respondidos durante
+// a busca. A partida é reaproveitada entre comandos position: quando a nova lista de lances continua a anterior (o
+// caso normal numa partida), só os lances novos são feitos, e uma lista mais curta desfaz os lances que sobraram.
+public class Uci {
+
+    private static final String STARTPOS = "startpos";
+    private static final int MAX_HASH_MB = 4096;
+    private static final int MAX_THREADS = 256;
+
+    private final int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+    private int threads;
+    private TranspositionTable table = new TranspositionTable(Search.DEFAULT_HASH_MB);
+    private ChessMatch match = new ChessMatch();
+    private ParallelSearch search;
+    private String base = STARTPOS; // Posição inicial do último position ("startpos" ou a FEN)
+    private final List<String> played = new ArrayList<>(); // Lances feitos a partir de base, em UCI
+
+    private Thread searcher; // Busca em andamento (null se não há)
+    private volatile boolean infinite; // go infinite: o bestmove espera o stop
+    private volatile boolean stopRequested;
+
+    private Uci(int threads) {
+        this.threads = threads;
+        this.search = new ParallelSearch(match, threads, table);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 1;
+        new Uci(threads).loop(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+    }
+
+    private void loop(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] tokens = line.trim().split("\\s+");
+            try {
+                switch (tokens[0]) {
+                    case "uci":
+                        send("id name Desafio Xadrez Java");
+                        send("id author desafio-xadrez-java");
+                        send("option name Hash type spin default " + Search.DEFAULT_HASH_MB + " min 1 max "
+                                + MAX_HASH_MB);
+                        send("option name Threads type spin default " + threads + " min 1 max " + MAX_THREADS);
+                        send("uciok");
+                        break;
+                    case "isready":
+                        send("readyok");
+                        break;
+                    case "setoption":
+                        stopSearch();
+                        setOption(tokens);
+                        break;
+                    case "ucinewgame":
+                        stopSearch();
+                        table.clear();
+                        position(STARTPOS, new ArrayList<>());
+                        break;
+                    case "position":
+                        stopSearch();
+                        position(tokens);
+                        break;
+                    case "go":
+                        stopSearch();
+                        go(tokens);
+                        break;
+                    case "stop":
+                        stopSearch();
+                        break;
+                    case "d": // Extensão comum (não faz parte do UCI): mostra a posição atual
+                        if (searcher != null && searcher.isAlive()) { // A busca faz e desfaz lances nesta partida
+                            send("info string posição indisponível durante a busca");
+                        } else {
+                            send("info string fen " + match.toFen());
+                        }
+                        break;
+                    case "quit":
+                        stopSearch();
+                        search.close();
+                        return;
+                    default:
+                        break; // Comandos desconhecidos são ignorados, como pede o protocolo
+                }
+            } catch (ChessException | IllegalArgumentException e) {
+                send("info string " + e.getMessage());
+            }
+        }
+        stopSearch();
+        search.close();
+    }
+
+    // setoption name <nome> value <valor>
+    private void setOption(String[] tokens) {
+        int value = indexOf(tokens, "value");
+        if (tokens.length < 3 || value < 0 || value + 1 >= tokens.length) {
+            return;
+        }
+        String name = String.join(" ", Arrays.copyOfRange(tokens, 2, value));
+        int number = Integer.parseInt(tokens[value + 1]);
+        if (name.equalsIgnoreCase("Hash")) {
+            table = new TranspositionTable(Math.max(1, Math.min(number, MAX_HASH_MB)));
+        } else if (name.equalsIgnoreCase("Threads")) {
+            threads = Math.max(1, Math.min(number, MAX_THREADS));
+        } else {
+            return;
+        }
+        search.close();
+        search = new ParallelSearch(match, threads, table);
+    }
+
+    // position startpos|fen <fen> [moves <lance> ...]
+    private void position(String[] tokens) {
+        int movesAt = indexOf(tokens, "moves");
+        int end = (movesAt < 0) ? tokens.length : movesAt;
+        String start;
+        if (tokens.length > 1 && tokens[1].equals(STARTPOS)) {
+            start = STARTPOS;
+        } else if (tokens.length > 2 && tokens[1].equals("fen")) {
+            start = String.join(" ", Arrays.copyOfRange(tokens, 2, end));
+        } else {
+            throw new IllegalArgumentException("position sem startpos ou fen");
+        }
+        List<String> list = new ArrayList<>();
+        for (int i = movesAt + 1; movesAt >= 0 && i < tokens.length; i++) {
+            list.add(tokens[i]);
+        }
+        position(start, list);
+    }
+
+    private void position(String start, List<String> list) {
+        int common = 0;
+        if (start.equals(base)) {
+            while (common < played.size() && common < list.size() && played.get(common).equals(list.get(common))) {
+                common++;
+            }
+            while (played.size() > common) { // Lances que não estão na nova lista
+                match.undoMove();
+                played.remove(played.size() - 1);
+            }
+        } else {
+            ChessMatch next = start.equals(STARTPOS) ? new ChessMatch() : ChessMatch.fromFen(start);
+            match = next;
+            base = start;
+            played.clear();
+            search.close();
+            search = new ParallelSearch(match, threads, table);
+        }
+        for (int i = common; i < list.size(); i++) {
+            int move = parseMove(list.get(i));
+            if (move == Move.NONE) {
+                throw new IllegalArgumentException("Lance ilegal: " + list.get(i));
+            }
+            match.makeMove(move);
+            played.add(list.get(i));
+        }
+    }
+
+    // go [depth N] [movetime ms] [nodes N] [wtime ms] [btime ms] [winc ms] [binc ms] [movestogo N] [infinite]
+    private void go(String[] tokens) {
+        boolean white = match.getCurrentPlayer() == Color.WHITE;
+        long time = -1;
+        long increment = 0;
+        int movesToGo = 0;
+        int depth = 0;
+        long moveTime = 0;
+        long nodes = 0;
+        boolean infiniteSearch = false;
+        // Parâmetros sem valor numérico (searchmoves, ponder...) são ignorados
+        for (int i = 1; i < tokens.length; i++) {
+            String name = tokens[i];
+            if (name.equals("infinite")) {
+                infiniteSearch = true;
+            } else if (i + 1 < tokens.length && isNumber(tokens[i + 1])) {
+                long value = Long.parseLong(tokens[++i]);
+                switch (name) {
+                    case "depth": depth = (int) value; break;
+                    case "movetime": moveTime = value; break;
+                    case "nodes": nodes = value; break;
+                    case "movestogo": movesToGo = (int) value; break;
+                    case "wtime": if (white) time = value; break;
+                    case "btime": if (!white) time = value; break;
+                    case "winc": if (white) increment = value; break;
+                    case "binc": if (!white) increment = value; break;
+                    default: break;
+                }
+            }
+        }
+
+        SearchLimits limits = (time >= 0 && !infiniteSearch) ? SearchLimits.clock(time, increment, movesToGo)
+                : SearchLimits.infinite();
+        if (depth > 0) {
+            limits.withDepth(depth);
+        }
+        limits.withTimeLimit(moveTime).withNodes(nodes);
+
+        infinite = infiniteSearch;
+        stopRequested = false;
+        ParallelSearch current = search;
+        searcher = new Thread(() -> {
+            // O bestmove sai sempre, mesmo se a busca falhar: a interface fica esperando por ele
+            SearchResult result = null;
+            try {
+                result = current.search(limits);
+            } catch (RuntimeException e) {
+                send("info string erro na busca: " + e);
+            }
+            synchronized (this) {
+                while (infinite && !stopRequested) { // Em go infinite o bestmove só sai depois do stop
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            if (result == null) {
+                send("bestmove 0000");
+                return;
+            }
+            send("info depth " + result.getDepth() + " score " + score(result.getScore()) + " nodes "
+                    + result.getNodes() + " nps " + result.getNodesPerSecond() + " time " + result.getElapsedMillis()
+                    + " hashfull " + table.hashfull());
+            send("bestmove " + ((result.getBestMove() != Move.NONE) ? Move.toString(result.getBestMove()) : "0000"));
+        }, "uci-search");
+        searcher.setDaemon(true);
+        searcher.start();
+    }
+
+    // Para a busca em andamento, se houver, e espera o bestmove. Repete o pedido até a busca terminar: um stop que
+    // chega antes de a busca começar seria perdido.
+    private void stopSearch() {
+        if (searcher == null) {
+            return;
+        }
+        synchronized (this) {
+            stopRequested = true;
+            notifyAll();
+        }
+        try {
+            while (searcher.isAlive()) {
+                search.stop();
+                searcher.join(5);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcher = null;
+    }
+
+    // Lance em notação UCI, comparado com os lances legais (o roque é e1g1, o destino do rei)
+    private int parseMove(String uci) {
+        int n = match.legalMoves(moves);
+        for (int i = 0; i < n; i++) {
+            if (Move.toString(moves[i]).equals(uci)) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    private static String score(int score) {
+        if (Math.abs(score) > Search.MATE - Search.MAX_PLY) {
+            int plies = Search.MATE - Math.abs(score);
+            return "mate " + ((score > 0) ? (plies + 1) / 2 : -(plies + 1) / 2);
+        }
+        return "cp " + score;
+    }
+
+    private static boolean isNumber(String token) {
+        return token.matches("-?\\d{1,18}");
+    }
+
+    private static int indexOf(String[] tokens, String token) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals(token)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void send(String line) {
+        synchronized (System.out) {
+            System.out.println(line);
+            System.out.flush();
+        }
+    }
+}
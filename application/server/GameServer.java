@@ -0,0 +1,36 @@
+// application/server/GameServer.java
+package application.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+
+// Servidor de partidas: java application.server.GameServer [porta]
+// Cada conexão é uma sessão (GameSession) com a sua própria partida, atendida por uma thread própria que bloqueia
+// na leitura do socket. Com threads virtuais (Java 21+) isso escala para milhares de sessões simultâneas sem
+// seletores nem callbacks; nas versões anteriores cada sessão ocupa uma thread de plataforma.
+public class GameServer {
+
+    public static final int DEFAULT_PORT = 7878;
+    private static final int BACKLOG = 4096; // Conexões aceitas pelo sistema esperando o accept
+
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ExecutorService sessions = SessionThreads.newExecutor("game-session");
+        try (ServerSocket server = new ServerSocket()) {
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+            System.out.println("Servidor de partidas na porta " + port + " (threads "
+                    + (SessionThreads.virtual() ? "virtuais" : "de plataforma") + " por sessão)");
+            while (true) {
+                Socket socket = server.accept();
+                sessions.execute(new GameSession(socket));
+            }
+        } finally {
+            sessions.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+// application/server/GameSession.java
+package application.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Move;
+import chess.enums.PieceType;
+
+// Uma conexão do servidor, com a sua própria ChessMatch. Protocolo em linhas de texto, uma resposta por comando:
+//   new [fen]       nova partida (posição inicial ou FEN)     ->  ok <fen>
+//   move e2e4       lance em notação UCI ("e7e8q" promove)    ->  ok e2e4 [check|checkmate]
+//   promote Q       peça da promoção pendente (B/N/R/Q)       ->  ok e7e8q [check|checkmate]
+//   board           estado da partida                         ->  board <fen> [check|checkmate]
+//   moves           lances legais                             ->  moves e2e4 d2d4 ...
+//   quit            encerra a conexão                         ->  bye
+// Um lance de promoção sem a peça responde "promote" e espera o comando promote, como o prompt do Program.
+// Erros respondem "error <mensagem>" e a partida continua.
+class GameSession implements Runnable {
+
+    private final Socket socket;
+    private final int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+    private ChessMatch match = new ChessMatch();
+    private int pendingFrom = -1; // Promoção esperando a escolha da peça
+    private int pendingTo;
+
+    GameSession(Socket socket) {
+        this.socket = socket;
+    }
+
+    @Override
+    public void run() {
+        try (Socket s = socket;
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            s.setTcpNoDelay(true);
+            reply(out, "ok " + match.toFen());
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.trim();
+                if (command.equals("quit")) {
+                    reply(out, "bye");
+                    break;
+                }
+                if (!command.isEmpty()) {
+                    reply(out, handle(command));
+                }
+            }
+        } catch (IOException e) {
+            // Cliente desconectou: só encerra a sessão
+        }
+    }
+
+    private String handle(String command) {
+        int space = command.indexOf(' ');
+        String name = (space < 0) ? command : command.substring(0, space);
+        String argument = (space < 0) ? "" : command.substring(space + 1).trim();
+        try {
+            switch (name) {
+                case "new":
+                    match = argument.isEmpty() ? new ChessMatch() : ChessMatch.fromFen(argument);
+                    pendingFrom = -1;
+                    return "ok " + match.toFen();
+                case "move":
+                    return move(argument);
+                case "promote":
+                    return promote(argument);
+                case "board":
+                    return "board " + match.toFen() + status();
+                case "moves":
+                    return legalMoves();
+                default:
+                    return "error Comando desconhecido: " + name;
+            }
+        } catch (ChessException e) {
+            return "error " + e.getMessage();
+        } catch (RuntimeException e) { // Entrada do cliente nunca derruba a sessão
+            return "error " + e;
+        }
+    }
+
+    private String move(String uci) {
+        if (match.getCheckMate()) {
+            return "error Partida encerrada por xeque-mate";
+        }
+        if (uci.length() < 4 || uci.length() > 5) {
+            return "error Lance inválido: " + uci;
+        }
+        int from = square(uci, 0);
+        int to = square(uci, 2);
+        if (from < 0 || to < 0) {
+            return "error Lance inválido: " + uci;
+        }
+        PieceType promotion = null;
+        if (uci.length() == 5) {
+            promotion = promotionType(uci.charAt(4));
+            if (promotion == null) {
+                return "error Peça de promoção inválida: " + uci.charAt(4);
+            }
+        }
+
+        int n = match.legalMovesFrom(1L << from, moves);
+        for (int i = 0; i < n; i++) {
+            int move = moves[i];
+            if (Move.to(move) != to) {
+                continue;
+            }
+            if (Move.isPromotion(move) && promotion == null) { // Falta escolher a peça
+                pendingFrom = from;
+                pendingTo = to;
+                return "promote";
+            }
+            if (Move.promotionType(move) == promotion) {
+                return play(move);
+            }
+        }
+        return "error Lance ilegal: " + uci;
+    }
+
+    private String promote(String piece) {
+        if (pendingFrom < 0) {
+            return "error Não há peça para ser promovida!";
+        }
+        PieceType type = (piece.length() == 1) ? promotionType(Character.toLowerCase(piece.charAt(0))) : null;
+        if (type == null) {
+            return "error Valor inválido! Entre a peça para promoção (B/N/R/Q)";
+        }
+        return play(Move.promotion(pendingFrom, pendingTo, type));
+    }
+
+    private String play(int move) {
+        pendingFrom = -1;
+        match.performChessMove(move);
+        return "ok " + Move.toString(move) + status();
+    }
+
+    private String status() {
+        if (match.getCheckMate()) {
+            return " checkmate";
+        }
+        return match.getCheck() ? " check" : "";
+    }
+
+    private String legalMoves() {
+        StringBuilder reply = new StringBuilder("moves");
+        if (!match.getCheckMate()) {
+            int n = match.legalMoves(moves);
+            for (int i = 0; i < n; i++) {
+                reply.append(' ').append(Move.toString(moves[i]));
+            }
+        }
+        return reply.toString();
+    }
+
+    private static int square(String uci, int index) {
+        int file = uci.charAt(index) - 'a';
+        int rank = uci.charAt(index + 1) - '1';
+        return (file >= 0 && file < 8 && rank >= 0 && rank < 8) ? rank * 8 + file : -1;
+    }
+
+    private static PieceType promotionType(char c) {
+        switch (c) {
+            case 'n': return PieceType.KNIGHT;
+            case 'b': return PieceType.BISHOP;
+            case 'r': return PieceType.ROOK;
+            case 'q': return PieceType.QUEEN;
+            default: return null;
+        }
+    }
+
+    private static void reply(BufferedWriter out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+}
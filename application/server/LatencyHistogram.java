@@ -0,0 +1,86 @@
+// application/server/LatencyHistogram.java
+package application.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histograma de latências em nanossegundos, com erro relativo de no máximo 1/16: cada potência de 2 é dividida
+// em 16 faixas iguais. Memória fixa (alguns KB) qualquer que seja o número de amostras, e record é seguro para
+// chamar de muitas threads ao mesmo tempo.
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BITS + 2) * SUB_BUCKETS / 2);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(bucket(nanos));
+        total.incrementAndGet();
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    // Limite superior da faixa que contém o percentil (0 a 100), em nanossegundos
+    public long percentile(double percent) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percent / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // Valores abaixo de SUB_BUCKETS têm faixa exata; acima, o expoente escolhe o grupo e os 4 bits seguintes ao
+    // mais alto escolhem a faixa dentro dele
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+        int sub = (int) (value >>> exponent) - SUB_BUCKETS / 2;
+        return exponent * SUB_BUCKETS / 2 + SUB_BUCKETS / 2 + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS / 2) / (SUB_BUCKETS / 2);
+        int sub = (bucket - SUB_BUCKETS / 2) % (SUB_BUCKETS / 2);
+        return ((long) (sub + SUB_BUCKETS / 2 + 1) << exponent) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d amostras, p50 %s, p90 %s, p99 %s, p99.9 %s, máx %s", getCount(),
+                format(percentile(50)), format(percentile(90)), format(percentile(99)), format(percentile(99.9)),
+                format(getMax()));
+    }
+
+    private static String format(long nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format("%.2f ms", nanos / 1e6);
+        }
+        return String.format("%.1f µs", nanos / 1e3);
+    }
+}
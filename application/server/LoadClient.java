@@ -0,0 +1,115 @@
+// application/server/LoadClient.java
+package application.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gerador de carga para o GameServer: java application.server.LoadClient [sessões] [lances] [porta]
+// Abre todas as sessões primeiro e só então começa a jogar, para que fiquem todas abertas ao mesmo tempo; cada
+// sessão pede os lances legais e joga um deles ao acaso, recomeçando a partida quando ela termina. Cada ida e
+// volta (comando e resposta) entra no histograma de latência.
+public class LoadClient {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000;
+        int moves = (args.length > 1) ? Integer.parseInt(args[1]) : 50;
+        int port = (args.length > 2) ? Integer.parseInt(args[2]) : GameServer.DEFAULT_PORT;
+
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch connected = new CountDownLatch(sessions);
+        CountDownLatch finished = new CountDownLatch(sessions);
+        ExecutorService threads = SessionThreads.newExecutor("load-session");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            long seed = i;
+            threads.execute(() -> {
+                try {
+                    play(port, moves, new SplittableRandom(seed), latency, connected);
+                } catch (IOException | RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        connected.await();
+        long playing = System.nanoTime();
+        System.out.printf("%d sessões abertas em %.1f s%n", sessions, (playing - start) / 1e9);
+        finished.await();
+        double seconds = (System.nanoTime() - playing) / 1e9;
+        threads.shutdown();
+        threads.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.printf("%d comandos em %.1f s (%.0f/s), %d sessões com falha%n", latency.getCount(), seconds,
+                latency.getCount() / seconds, failures.get());
+        System.out.println("Latência: " + latency);
+    }
+
+    private static void play(int port, int moves, SplittableRandom random, LatencyHistogram latency,
+            CountDownLatch connected) throws IOException {
+        boolean counted = false;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            in.readLine(); // Saudação com a posição inicial
+            connected.countDown();
+            counted = true;
+            try {
+                connected.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (int i = 0; i < moves; i++) {
+                String[] legal = request(in, out, "moves", latency).split(" ");
+                if (legal.length == 1) { // Xeque-mate ou afogamento: nova partida
+                    request(in, out, "new", latency);
+                    continue;
+                }
+                String reply = request(in, out, "move " + legal[1 + random.nextInt(legal.length - 1)], latency);
+                if (reply.equals("promote")) {
+                    reply = request(in, out, "promote Q", latency);
+                }
+                if (!reply.startsWith("ok")) {
+                    throw new IllegalStateException("Resposta inesperada do servidor: " + reply);
+                }
+            }
+            request(in, out, "quit", latency);
+        } finally {
+            if (!counted) {
+                connected.countDown(); // Não conectou: não segura as outras sessões
+            }
+        }
+    }
+
+    private static String request(BufferedReader in, BufferedWriter out, String command, LatencyHistogram latency)
+            throws IOException {
+        long start = System.nanoTime();
+        out.write(command);
+        out.write('\n');
+        out.flush();
+        String reply = in.readLine();
+        latency.record(System.nanoTime() - start);
+        if (reply == null) {
+            throw new IOException("Servidor fechou a conexão");
+        }
+        return reply;
+    }
+}
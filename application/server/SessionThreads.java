@@ -0,0 +1,38 @@
+// application/server/SessionThreads.java
+package application.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Uma thread por sessão: virtual no Java 21+, onde milhares de conexões bloqueadas em leitura custam pouca memória,
+// e de plataforma nas versões anteriores. O projeto compila para Java 11, então a API das threads virtuais é
+// procurada por reflexão.
+final class SessionThreads {
+
+    private SessionThreads() {
+    }
+
+    static ExecutorService newExecutor(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                // Pilha pequena: as sessões só leem linhas e fazem um lance, e são milhares de threads
+                Thread thread = new Thread(null, runnable, name + "-" + count.incrementAndGet(), 256 * 1024);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    static boolean virtual() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
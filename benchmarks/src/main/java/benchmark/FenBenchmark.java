@@ -0,0 +1,50 @@
+// benchmark/FenBenchmark.java
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chess.ChessMatch;
+
+// Custo de carregar e gravar uma posição em FEN (os lotes de análise carregam milhões delas)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FenBenchmark {
+
+    @Param({ PerftSuite.STARTPOS, "kiwipete", "position3" })
+    public String position;
+
+    private String fen;
+    private ChessMatch match;
+
+    @Setup
+    public void setup() {
+        match = PerftSuite.newMatch(position);
+        fen = match.toFen();
+    }
+
+    @Benchmark
+    public ChessMatch fromFen() {
+        return ChessMatch.fromFen(fen);
+    }
+
+    @Benchmark
+    public String toFen() {
+        return match.toFen();
+    }
+}
@@ -0,0 +1,103 @@
+// benchmark/MoveGenBenchmark.java
+package benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.enums.Color;
+import chess.enums.PieceType;
+
+// Microbenchmarks das operações do gerador de lances. Rodar com -prof gc para ver a taxa de alocação.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenBenchmark {
+
+    // Abertura curta usada para medir performChessMove (lances legais em sequência a partir do início)
+    private static final String[] OPENING = { "e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6", "e1g1", "f8c5" };
+
+    @Param({ PerftSuite.STARTPOS, "kiwipete" })
+    public String position;
+
+    private ChessMatch match;
+    private ChessPiece[] pieces;
+    private ChessPosition kingPosition;
+    private ChessPosition[][] opening;
+    private final int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+
+    @Setup
+    public void setup() {
+        match = PerftSuite.newMatch(position);
+        ChessPiece[][] matrix = match.getPieces();
+        int count = 0;
+        pieces = new ChessPiece[32];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                ChessPiece p = matrix[i][j];
+                if (p != null) {
+                    pieces[count++] = p;
+                    if (p.getType() == PieceType.KING && p.getColor() == match.getCurrentPlayer()) {
+                        kingPosition = new ChessPosition((char) ('a' + j), 8 - i);
+                    }
+                }
+            }
+        }
+        pieces = Arrays.copyOf(pieces, count);
+        opening = new ChessPosition[OPENING.length][];
+        for (int i = 0; i < OPENING.length; i++) {
+            String m = OPENING[i];
+            opening[i] = new ChessPosition[] { new ChessPosition(m.charAt(0), m.charAt(1) - '0'), new ChessPosition(m.charAt(2), m.charAt(3) - '0') };
+        }
+    }
+
+    // Movimentos pseudo-legais de todas as peças do tabuleiro
+    @Benchmark
+    public int possibleMoves() {
+        int total = 0;
+        for (ChessPiece p : pieces) {
+            total += p.generateMoves(moves, 0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int legalMoves() {
+        return match.legalMoves(moves);
+    }
+
+    // Mesma consulta que ChessMatch.testCheck faz na casa do rei
+    @Benchmark
+    public boolean testCheck() {
+        return match.isSquareAttacked(kingPosition, match.getCurrentPlayer() == Color.WHITE ? Color.BLACK : Color.WHITE);
+    }
+
+    // Partida nova + os lances da abertura, por lance
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void performChessMove(Blackhole bh) {
+        ChessMatch m = new ChessMatch();
+        for (ChessPosition[] move : opening) {
+            bh.consume(m.performChessMove(move[0], move[1]));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+// benchmark/PawnCacheReport.java
+package benchmark;
+
+import chess.engine.PawnHashTable;
+import chess.engine.Search;
+import chess.engine.SearchResult;
+
+// Taxa de acerto do cache de peões numa busca real, em cada posição de teste e no total. A estrutura de peões muda
+// pouco na árvore, então o total esperado fica acima de 90%; a posição inicial, em que quase todo lance de peão cria
+// uma estrutura nova, fica por volta de 85%. Sai com código 1 se o total ficar abaixo do mínimo.
+// Rodar com: java -cp benchmarks.jar benchmark.PawnCacheReport [milissegundos] [mínimo %]
+public class PawnCacheReport {
+
+    public static void main(String[] args) {
+        long millis = (args.length > 0) ? Long.parseLong(args[0]) : 2000;
+        double minimum = (args.length > 1) ? Double.parseDouble(args[1]) : 90;
+        long hits = 0;
+        long probes = 0;
+        for (String name : PerftSuite.names()) {
+            Search search = new Search(PerftSuite.newMatch(name));
+            PawnHashTable pawns = search.getPawnTable();
+            pawns.resetCounters();
+            SearchResult result = search.search(64, millis);
+            System.out.printf("%-10s profundidade %d: %,d consultas, %.1f%% de acertos%n", name, result.getDepth(),
+                    pawns.getHits() + pawns.getMisses(), pawns.getHitRate() * 100);
+            hits += pawns.getHits();
+            probes += pawns.getHits() + pawns.getMisses();
+        }
+        double rate = (probes == 0) ? 0 : 100.0 * hits / probes;
+        System.out.printf("Total: %,d consultas, %.1f%% de acertos%n", probes, rate);
+        if (rate < minimum) {
+            System.out.printf("Taxa de acerto abaixo de %.0f%%%n", minimum);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+// benchmark/PerftBenchmark.java
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chess.ChessMatch;
+
+// Perft das posições de teste; o contador "nodes" sai em nós/s. O total é conferido antes de medir.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+
+    @Param({ PerftSuite.STARTPOS, "kiwipete", "position3", "position4", "position5" })
+    public String position;
+
+    @Param({ "3" })
+    public int depth;
+
+    private ChessMatch match;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        PerftSuite.verify(position, depth); // Não mede um gerador que conta errado
+        match = PerftSuite.newMatch(position);
+    }
+
+    @Benchmark
+    public long perft(Nodes counter) {
+        long nodes = match.perft(depth);
+        counter.nodes += nodes;
+        return nodes;
+    }
+}
@@ -0,0 +1,75 @@
+// benchmark/PerftSuite.java
+package benchmark;
+
+import java.util.Map;
+
+import chess.ChessMatch;
+import chess.Move;
+import chess.ParallelPerft;
+import chess.PerftCache;
+import chess.PerftPositions;
+
+// Perft das posições de teste padrão (tabela em PerftPositions), com o perft paralelo. Rodar com: java -cp benchmarks.jar benchmark.PerftSuite [profundidade]
+public class PerftSuite {
+
+    public static final String STARTPOS = PerftPositions.STARTPOS;
+
+    public static String[] names() {
+        return PerftPositions.names();
+    }
+
+    public static ChessMatch newMatch(String name) {
+        return PerftPositions.newMatch(name);
+    }
+
+    // Total esperado, ou -1 se a profundidade não estiver na tabela
+    public static long expected(String name, int depth) {
+        return PerftPositions.expected(name, depth);
+    }
+
+    // Roda o perft e lança exceção se o total divergir do conhecido
+    public static long verify(String name, int depth) {
+        return PerftPositions.verify(name, depth);
+    }
+
+    // Uso: PerftSuite [profundidade] [threads]           confere todas as posições com o perft paralelo
+    //      PerftSuite divide <posição> <profundidade>      total por lance da raiz
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length > 0 && args[0].equals("divide")) {
+            ParallelPerft perft = new ParallelPerft(threads);
+            long total = 0;
+            for (Map.Entry<Integer, Long> entry : perft.divide(newMatch(args[1]), Integer.parseInt(args[2])).entrySet()) {
+                System.out.println(Move.toString(entry.getKey()) + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            System.out.println("Total: " + total);
+            perft.close();
+            return;
+        }
+
+        int maxDepth = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        if (args.length > 1) {
+            threads = Integer.parseInt(args[1]);
+        }
+        ParallelPerft perft = new ParallelPerft(threads, new PerftCache(PerftCache.DEFAULT_MEGABYTES));
+        boolean ok = true;
+        for (String name : names()) {
+            for (int depth = 1; depth <= maxDepth && expected(name, depth) >= 0; depth++) {
+                long start = System.nanoTime();
+                long nodes = perft.perft(newMatch(name), depth);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                if (nodes != expected(name, depth)) {
+                    System.out.println("Perft incorreto em " + name + " profundidade " + depth + ": " + nodes + " (esperado " + expected(name, depth) + ")");
+                    ok = false;
+                } else {
+                    System.out.printf("%-10s profundidade %d: %,d nós (%.0f nós/s)%n", name, depth, nodes, nodes / seconds);
+                }
+            }
+        }
+        perft.close();
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+// benchmark/SearchScalingBenchmark.java
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chess.ChessMatch;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+
+// Escalabilidade da busca Lazy SMP: cada invocação busca a posição por tempo fixo com a tabela limpa.
+// "nodes" sai em nós/s no total e "nodesPerThread" em nós/s por thread (ideal: constante ao aumentar threads).
+// Ex.: java -jar target/benchmarks.jar SearchScaling -p threads=1,2,4,8,16,32
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 4)
+@Measurement(iterations = 5, time = 4)
+@Fork(1)
+public class SearchScalingBenchmark {
+
+    @Param({ PerftSuite.STARTPOS, "kiwipete" })
+    public String position;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    @Param({ "1000" })
+    public long millis;
+
+    @Param({ "64" })
+    public int hashMegabytes;
+
+    private ChessMatch match;
+    private TranspositionTable table;
+    private ParallelSearch search;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+        public long nodesPerThread;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+            nodesPerThread = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        match = PerftSuite.newMatch(position);
+        table = new TranspositionTable(hashMegabytes);
+        search = new ParallelSearch(match, threads, table);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        table.clear(); // Cada busca começa do zero, sem aproveitar a anterior
+    }
+
+    @TearDown
+    public void tearDown() {
+        search.close();
+    }
+
+    @Benchmark
+    public int search(Nodes counter) {
+        SearchResult result = search.search(64, millis);
+        counter.nodes += result.getNodes();
+        counter.nodesPerThread += result.getNodes() / threads;
+        return result.getBestMove();
+    }
+}
@@ -2,6 +2,8 @@
 package board;
 
 import chess.ChessPiece; // Importe ChessPiece, pois o tabuleiro armazena peças de xadrez
+import chess.enums.Color;
+import chess.enums.PieceType;
 
 public class Board {
 
@@ -9,13 +11,28 @@ public class Board {
     private int columns;
     private ChessPiece[][] pieces; // Alterado para ChessPiece
 
+    // Representação paralela em bitboards: bit (7 - linha) * 8 + coluna, ou seja a1 = 0 e h8 = 63
+    private long[] colorBitboards = new long[Color.values().length]; // Indexado por Color.ordinal()
+    private long[] typeBitboards = new long[PieceType.values().length]; // Indexado por PieceType.ordinal()
+    private long occupied; // Todas as casas ocupadas
+
+    private Position[] squares = new Position[64]; // Uma Position por casa, reutilizada para não alocar a cada lance
+
     public Board(int rows, int columns) {
         if (rows < 1 || columns < 1) {
             throw new BoardException("Erro criando tabuleiro: deve haver pelo menos 1 linha e 1 coluna");
         }
+        if (rows > 8 || columns > 8) {
+            throw new BoardException("Erro criando tabuleiro: os bitboards suportam no máximo 8 linhas e 8 colunas");
+        }
         this.rows = rows;
         this.columns = columns;
         pieces = new ChessPiece[rows][columns]; // Alterado para ChessPiece
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                squares[square(row, column)] = new Position(row, column);
+            }
+        }
     }
 
     public int getRows() {
@@ -45,7 +62,12 @@ public class Board {
             throw new BoardException("Já existe uma peça na posição " + position);
         }
         pieces[position.getRow()][position.getColumn()] = piece;
-        piece.position = position; // Define a posição da peça no tabuleiro
+        piece.setPosition(position); // Define a posição da peça no tabuleiro
+
+        long bit = 1L << square(position.getRow(), position.getColumn());
+        colorBitboards[piece.getColor().ordinal()] |= bit;
+        typeBitboards[piece.getType().ordinal()] |= bit;
+        occupied |= bit;
     }
 
     public ChessPiece removePiece(Position position) { // Alterado para ChessPiece
@@ -56,8 +78,13 @@ public class Board {
             return null; // Não há peça para remover
         }
         ChessPiece aux = piece(position);
-        aux.position = null; // Remove a posição da peça
+        aux.setPosition(null); // Remove a posição da peça
         pieces[position.getRow()][position.getColumn()] = null;
+
+        long bit = 1L << square(position.getRow(), position.getColumn());
+        colorBitboards[aux.getColor().ordinal()] &= ~bit;
+        typeBitboards[aux.getType().ordinal()] &= ~bit;
+        occupied &= ~bit;
         return aux;
     }
 
@@ -73,14 +100,51 @@ public class Board {
         if (!positionExists(position)) {
             throw new BoardException("Posição não existe no tabuleiro");
         }
-        return piece(position) != null;
+        return (occupied & (1L << square(position.getRow(), position.getColumn()))) != 0;
     }
 
-    // Retorna os movimentos possíveis de uma peça na dada posição
-    public boolean[][] possibleMoves(Position position) {
-        if (!hasPiece(position)) {
-            throw new BoardException("Não há peça na posição de origem!");
-        }
-        return piece(position).possibleMoves();
+    // Peça na casa do bitboard, sem validação (a casa precisa existir)
+    public ChessPiece pieceAt(int square) {
+        return pieces[row(square)][column(square)];
+    }
+
+    // Position compartilhada da casa do bitboard; não deve ser alterada
+    public Position position(int square) {
+        return squares[square];
+    }
+
+    // Bitboard com todas as casas ocupadas
+    public long getOccupied() {
+        return occupied;
+    }
+
+    // Bitboard com as peças de uma cor
+    public long getPieces(Color color) {
+        return colorBitboards[color.ordinal()];
+    }
+
+    // Bitboard com as peças de um tipo (das duas cores)
+    public long getPieces(PieceType type) {
+        return typeBitboards[type.ordinal()];
+    }
+
+    // Bitboard com as peças de uma cor e tipo
+    public long getPieces(Color color, PieceType type) {
+        return colorBitboards[color.ordinal()] & typeBitboards[type.ordinal()];
+    }
+
+    // Converte (linha, coluna) para o índice da casa no bitboard (a1 = 0, h8 = 63)
+    public static int square(int row, int column) {
+        return (7 - row) * 8 + column;
+    }
+
+    // Linha da matriz correspondente a um índice de casa
+    public static int row(int square) {
+        return 7 - (square >>> 3);
+    }
+
+    // Coluna da matriz correspondente a um índice de casa
+    public static int column(int square) {
+        return square & 7;
     }
 }
@@ -2,12 +2,15 @@
 package chess;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import board.Board;
 import board.Position;
 import chess.enums.Color;
+import chess.enums.PieceType;
 import chess.pieces.*; // Importa todas as peças
 
 public class ChessMatch {
@@ -17,17 +20,152 @@ public class ChessMatch {
     private Color currentPlayer;
     private boolean check; // Estado de xeque
     private boolean checkMate; // Estado de xeque-mate
-    private ChessPiece enPassantVulnerable; // Peça vulnerável a en passant
+    private int enPassantSquare = -1; // Casa pulada pelo peão que avançou duas casas (-1 se não há en passant)
+    private int castlingRights; // Direitos de roque ainda disponíveis (WHITE_KINGSIDE | ... | BLACK_QUEENSIDE)
+    private int halfMoveClock; // Meios-lances desde a última captura ou lance de peão
+    private long key; // Chave Zobrist da posição, mantida incrementalmente por makeMove/undoMove
+    private long pawnKey; // Chave Zobrist só dos peões, para o cache da estrutura de peões
+    private int midgameScore; // Soma de material + tabelas de casas do meio-jogo (brancas - pretas)
+    private int endgameScore; // Idem, com as tabelas do final
+    private int phase; // Fase do jogo pelas peças no tabuleiro (PieceSquareTables.MAX_PHASE na posição inicial)
     private ChessPiece promoted; // Peça promovida (para promoção de peão)
 
-    private List<ChessPiece> piecesOnBoard = new ArrayList<>(); // Peças no tabuleiro
+    private PieceIndex piecesOnBoard = new PieceIndex(); // Peças no tabuleiro, por cor e tipo
     private List<ChessPiece> capturedPieces = new ArrayList<>(); // Peças capturadas
+    private int[][] perftMoves; // Um buffer de lances por nível do perft, criado sob demanda
+
+    private static final int INITIAL_UNDO_STACK = 64;
+    private UndoRecord[] undoStack = new UndoRecord[0]; // Pilha pré-alocada de registros para desfazer lances
+    private int undoSize;
+
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    // Direitos de roque que sobrevivem a um lance que sai de ou chega a cada casa (rei ou torre movidos/capturados)
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASK, WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASK[0] &= ~WHITE_QUEENSIDE; // a1
+        CASTLING_MASK[4] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE); // e1
+        CASTLING_MASK[7] &= ~WHITE_KINGSIDE; // h1
+        CASTLING_MASK[56] &= ~BLACK_QUEENSIDE; // a8
+        CASTLING_MASK[60] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE); // e8
+        CASTLING_MASK[63] &= ~BLACK_KINGSIDE; // h8
+    }
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values(); // values() cria um array novo a cada chamada
+
+    private static final int GEN_ALL = 0;
+    private static final int GEN_CAPTURES = 1;
+    private static final int GEN_QUIETS = 2;
+
+    // Valores das peças para a troca estática; o rei vale mais que qualquer sequência de capturas
+    private static final int[] SEE_VALUES = { 100, 320, 330, 500, 900, 20000 };
+    private final int[] seeGain = new int[40]; // Saldos parciais da troca estática (no máximo 32 peças capturam)
+
+    private static final String FEN_PIECES = "PNBRQK"; // Letra de cada PieceType.ordinal() na FEN (brancas)
+
+    public static final int MAX_LEGAL_MOVES = 256; // Nenhuma posição de xadrez tem mais de 218 lances legais
+    private int[] legalBuffer; // Buffer reutilizável para validação e xeque-mate; criado no primeiro uso (ver legalBuffer())
 
     public ChessMatch() {
         board = new Board(8, 8); // Tabuleiro de 8x8
         turn = 1;
         currentPlayer = Color.WHITE; // Branco começa
+        castlingRights = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
         initialSetup(); // Posiciona as peças
+        key = computeKey();
+        pawnKey = computePawnKey();
+        computeScores();
+    }
+
+    // Partida a partir de uma posição em notação FEN (ex: posições de teste do perft)
+    public static ChessMatch fromFen(String fen) {
+        ChessMatch match = new ChessMatch(new Board(8, 8));
+        match.loadFen(fen);
+        return match;
+    }
+
+    private ChessMatch(Board board) {
+        this.board = board;
+    }
+
+    // Cópia independente da partida: tabuleiro, peças, estado e histórico de lances (que continua podendo ser
+    // desfeito). Nada mutável é compartilhado com o original, então cada thread de busca pode usar a sua.
+    public ChessMatch copy() {
+        ChessMatch copy = new ChessMatch(new Board(8, 8));
+        Map<ChessPiece, ChessPiece> copies = new IdentityHashMap<>();
+        long occupied = board.getOccupied();
+        while (occupied != 0) {
+            int sq = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            ChessPiece piece = copy.copyPiece(board.pieceAt(sq), copies);
+            copy.board.placePiece(piece, copy.board.position(sq));
+            copy.piecesOnBoard.add(piece);
+        }
+        for (ChessPiece piece : capturedPieces) {
+            copy.capturedPieces.add(copy.copyPiece(piece, copies));
+        }
+        copy.turn = turn;
+        copy.currentPlayer = currentPlayer;
+        copy.check = check;
+        copy.checkMate = checkMate;
+        copy.enPassantSquare = enPassantSquare;
+        copy.castlingRights = castlingRights;
+        copy.halfMoveClock = halfMoveClock;
+        copy.key = key;
+        copy.pawnKey = pawnKey;
+        copy.midgameScore = midgameScore;
+        copy.endgameScore = endgameScore;
+        copy.phase = phase;
+        copy.promoted = copy.copyPiece(promoted, copies);
+
+        if (copy.undoStack.length < undoStack.length) {
+            copy.growUndoStack(undoStack.length);
+        }
+        for (int i = 0; i < undoSize; i++) {
+            UndoRecord from = undoStack[i];
+            UndoRecord to = copy.undoStack[i];
+            to.move = from.move;
+            to.captured = copy.copyPiece(from.captured, copies);
+            to.pawn = copy.copyPiece(from.pawn, copies);
+            to.promoted = copy.copyPiece(from.promoted, copies);
+            to.enPassantSquare = from.enPassantSquare;
+            to.castlingRights = from.castlingRights;
+            to.halfMoveClock = from.halfMoveClock;
+            to.check = from.check;
+            to.key = from.key;
+            to.pawnKey = from.pawnKey;
+            to.midgameScore = from.midgameScore;
+            to.endgameScore = from.endgameScore;
+            to.phase = from.phase;
+        }
+        copy.undoSize = undoSize;
+        return copy;
+    }
+
+    // Nova peça desta partida equivalente à peça de outra partida (a mesma peça original gera sempre a mesma cópia)
+    private ChessPiece copyPiece(ChessPiece piece, Map<ChessPiece, ChessPiece> copies) {
+        if (piece == null) {
+            return null;
+        }
+        ChessPiece copy = copies.get(piece);
+        if (copy == null) {
+            PieceType type = piece.getType();
+            if (type == PieceType.PAWN) {
+                copy = new Pawn(board, piece.getColor(), this);
+            } else if (type == PieceType.KING) {
+                copy = new King(board, piece.getColor());
+            } else {
+                copy = newPiece(type, piece.getColor());
+            }
+            copy.setMoveCount(piece.getMoveCount());
+            copies.put(piece, copy);
+        }
+        return copy;
     }
 
     public int getTurn() {
@@ -46,8 +184,104 @@ public class ChessMatch {
         return checkMate;
     }
 
+    // Peão que acabou de avançar duas casas e pode ser capturado en passant (ou null)
     public ChessPiece getEnPassantVulnerable() {
-        return enPassantVulnerable;
+        if (enPassantSquare < 0) {
+            return null;
+        }
+        return board.pieceAt(enPassantSquare + (currentPlayer == Color.WHITE ? -8 : 8));
+    }
+
+    // Casa de destino de uma captura en passant (a1 = 0, h8 = 63), ou -1 se não há
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public int getHalfMoveClock() {
+        return halfMoveClock;
+    }
+
+    // Chave Zobrist de 64 bits da posição (peças, lado a jogar, roque e coluna de en passant)
+    public long positionKey() {
+        return key;
+    }
+
+    // Somas da avaliação incremental (brancas - pretas): material + tabelas de casas, no meio-jogo e no final
+    public int getMidgameScore() {
+        return midgameScore;
+    }
+
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    // Fase do jogo, de PieceSquareTables.MAX_PHASE (todas as peças) a 0 (só reis e peões); pode passar do máximo
+    // com promoções
+    public int getPhase() {
+        return phase;
+    }
+
+    // Recalcula do zero as somas da avaliação; usado ao montar a posição
+    private void computeScores() {
+        midgameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+        long occupied = board.getOccupied();
+        while (occupied != 0) {
+            int sq = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            ChessPiece piece = board.pieceAt(sq);
+            midgameScore += PieceSquareTables.midgame(piece, sq);
+            endgameScore += PieceSquareTables.endgame(piece, sq);
+            phase += PieceSquareTables.phase(piece.getType());
+        }
+    }
+
+    // As chaves mantidas por makeMove/undoMove são iguais às recalculadas do zero? Conferido por PerftPositions
+    boolean keysConsistent() {
+        return key == computeKey() && pawnKey == computePawnKey();
+    }
+
+    // Chave Zobrist só da posição dos peões (das duas cores); muda apenas em lances e capturas de peão e promoções
+    public long pawnKey() {
+        return pawnKey;
+    }
+
+    // Recalcula a chave de peões do zero; usado ao montar a posição e por keysConsistent
+    long computePawnKey() {
+        long k = 0;
+        for (Color color : Color.values()) {
+            long pawns = board.getPieces(color, PieceType.PAWN);
+            while (pawns != 0) {
+                int sq = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                k ^= Zobrist.piece(color, PieceType.PAWN, sq);
+            }
+        }
+        return k;
+    }
+
+    // Recalcula a chave do zero; usado ao montar a posição e por keysConsistent
+    long computeKey() {
+        long k = 0;
+        long occupied = board.getOccupied();
+        while (occupied != 0) {
+            int sq = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            k ^= Zobrist.piece(board.pieceAt(sq), sq);
+        }
+        k ^= Zobrist.castling(castlingRights);
+        if (enPassantSquare >= 0) {
+            k ^= Zobrist.enPassant(enPassantSquare);
+        }
+        if (currentPlayer == Color.BLACK) {
+            k ^= Zobrist.side();
+        }
+        return k;
     }
 
     public ChessPiece getPromoted() {
@@ -65,11 +299,88 @@ public class ChessMatch {
         return mat;
     }
 
-    // Retorna os movimentos possíveis de uma peça na origem
-    public boolean[][] possibleMoves(ChessPosition sourcePosition) {
+    // Escreve em moves os movimentos legais da peça na origem (codificados com Move) e retorna quantos são.
+    // moves deve ter pelo menos ChessPiece.MAX_MOVES posições e pode ser reutilizado entre chamadas.
+    public int possibleMoves(ChessPosition sourcePosition, int[] moves) {
         Position position = sourcePosition.toPosition();
         validateSourcePosition(position);
-        return board.piece(position).possibleMoves();
+        int from = Board.square(position.getRow(), position.getColumn());
+        int n = generateLegalMoves(currentPlayer, legalBuffer());
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (Move.from(legalBuffer[i]) == from) {
+                moves[count++] = legalBuffer[i];
+            }
+        }
+        return count;
+    }
+
+    // Escreve em moves todos os lances legais do jogador atual e retorna quantos são.
+    // moves deve ter pelo menos MAX_LEGAL_MOVES posições.
+    public int legalMoves(int[] moves) {
+        return generateLegalMoves(currentPlayer, moves);
+    }
+
+    // Só os lances legais das peças nas casas de fromMask (bit a1 = 0), por exemplo as de um tipo só
+    public int legalMovesFrom(long fromMask, int[] moves) {
+        return generateLegalMoves(currentPlayer, moves, GEN_ALL, fromMask);
+    }
+
+    // Só os lances táticos legais: capturas (inclusive en passant) e promoções
+    public int legalCaptures(int[] moves) {
+        return generateLegalMoves(currentPlayer, moves, GEN_CAPTURES, ~0L);
+    }
+
+    // Só os lances tranquilos legais: sem captura nem promoção (inclui o roque). Com legalCaptures, cobre todos.
+    public int legalQuiets(int[] moves) {
+        return generateLegalMoves(currentPlayer, moves, GEN_QUIETS, ~0L);
+    }
+
+    // Verifica se um lance (por exemplo, vindo da tabela de transposição) é legal, gerando só os lances da peça
+    // na origem
+    public boolean isLegal(int move) {
+        if (move == Move.NONE) {
+            return false;
+        }
+        int n = generateLegalMoves(currentPlayer, legalBuffer(), GEN_ALL, 1L << Move.from(move));
+        for (int i = 0; i < n; i++) {
+            if (legalBuffer[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Lance que captura ou promove (os que legalCaptures gera)
+    public boolean isTactical(int move) {
+        return Move.isPromotion(move) || Move.flag(move) == Move.EN_PASSANT || board.pieceAt(Move.to(move)) != null;
+    }
+
+    // Peça na casa (a1 = 0, h8 = 63), ou null
+    public ChessPiece pieceAt(int square) {
+        return board.pieceAt(square);
+    }
+
+    // Bitboard das peças da cor e do tipo (bit i = casa i, a1 = 0)
+    public long bitboard(Color color, PieceType type) {
+        return board.getPieces(color, type);
+    }
+
+    // Verifica se o jogador da vez está em xeque na posição atual (vale também durante makeMove/undoMove)
+    public boolean inCheck() {
+        return testCheck(currentPlayer);
+    }
+
+    // Verifica se a posição atual já ocorreu desde o último lance irreversível (captura ou lance de peão).
+    // Só compara posições com o mesmo lado a jogar, guardadas como chaves nos registros de undo.
+    public boolean isRepetition() {
+        int limit = Math.max(0, undoSize - halfMoveClock);
+        for (int i = undoSize - 4; i >= limit; i -= 2) {
+            if (undoStack[i].key == key) {
+                return true;
+            }
+        }
+        return false;
     }
 
     // Executa um movimento de xadrez
@@ -77,39 +388,34 @@ public class ChessMatch {
         Position source = sourcePosition.toPosition();
         Position target = targetPosition.toPosition();
         validateSourcePosition(source); // Valida a posição de origem
-        validateTargetPosition(source, target); // Valida a posição de destino
-        ChessPiece capturedPiece = (ChessPiece) makeMove(source, target); // Realiza o movimento no tabuleiro
+        int move = validateTargetPosition(source, target); // Valida a posição de destino (o gerador legal já exclui lances que deixam o rei em xeque)
+        return applyMove(move);
+    }
 
-        // Verifica xeque
-        if (testCheck(currentPlayer)) {
-            undoMove(source, target, capturedPiece); // Desfaz o movimento se colocar em xeque
-            throw new ChessException("Você não pode se colocar em xeque!");
+    // Executa um lance codificado com Move (por exemplo, escolhido pelo motor), validando que é legal
+    public ChessPiece performChessMove(int move) {
+        if (!isLegal(move)) {
+            throw new ChessException("Lance ilegal: " + Move.toString(move));
         }
+        return applyMove(move);
+    }
 
-        // Lógica de promoção de peão
-        promoted = null;
-        if (board.piece(target) instanceof Pawn) {
-            if ((board.piece(target).getColor() == Color.WHITE && target.getRow() == 0) ||
-                (board.piece(target).getColor() == Color.BLACK && target.getRow() == 7)) {
-                promoted = (ChessPiece) board.piece(target);
-                promoted = replacePromotedPiece("Q"); // Padrão: promove para Rainha. Pode ser melhorado para pedir ao usuário.
-            }
+    // Faz o lance já validado e atualiza o estado visível da partida (capturadas, promoção, xeque, xeque-mate)
+    private ChessPiece applyMove(int move) {
+        ChessPiece capturedPiece = makeMove(move); // Realiza o movimento no tabuleiro
+        if (capturedPiece != null) {
+            capturedPieces.add(capturedPiece);
         }
 
-        check = (testCheck(opponent(currentPlayer))) ? true : false; // Verifica se o movimento colocou o oponente em xeque
+        // Lógica de promoção de peão: o lance promove para Rainha; a UI pode trocar com replacePromotedPiece
+        promoted = Move.isPromotion(move) ? board.pieceAt(Move.to(move)) : null;
 
-        if (testCheckMate(opponent(currentPlayer))) {
-            checkMate = true;
-        } else {
-            nextTurn(); // Avança o turno
-        }
+        check = testCheck(currentPlayer); // Verifica se o movimento colocou o oponente (agora o jogador da vez) em xeque
 
-        // #Specialmove en passant
-        if (board.piece(target) instanceof Pawn && (target.getRow() == source.getRow() - 2 || target.getRow() == source.getRow() + 2)) {
-            enPassantVulnerable = (ChessPiece)board.piece(target);
-        }
-        else {
-            enPassantVulnerable = null;
+        if (testCheckMate(currentPlayer)) {
+            checkMate = true;
+            currentPlayer = opponent(currentPlayer); // Fim de jogo: o vencedor continua como jogador atual
+            turn--;
         }
 
         return capturedPiece;
@@ -131,6 +437,12 @@ public class ChessMatch {
         ChessPiece newPiece = newPiece(type, promoted.getColor());
         board.placePiece(newPiece, pos);
         piecesOnBoard.add(newPiece);
+        int square = Board.square(pos.getRow(), pos.getColumn());
+        key ^= Zobrist.piece(p, square) ^ Zobrist.piece(newPiece, square);
+        midgameScore += PieceSquareTables.midgame(newPiece, square) - PieceSquareTables.midgame(p, square);
+        endgameScore += PieceSquareTables.endgame(newPiece, square) - PieceSquareTables.endgame(p, square);
+        phase += PieceSquareTables.phase(newPiece.getType()) - PieceSquareTables.phase(p.getType());
+        promoted = newPiece;
 
         return newPiece;
     }
@@ -142,101 +454,175 @@ public class ChessMatch {
         return new Rook(board, color);
     }
 
+    private ChessPiece newPiece(PieceType type, Color color) {
+        if (type == PieceType.BISHOP) return new Bishop(board, color);
+        if (type == PieceType.KNIGHT) return new Knight(board, color);
+        if (type == PieceType.ROOK) return new Rook(board, color);
+        return new Queen(board, color);
+    }
 
-    // Realiza o movimento físico no tabuleiro
-    private board.Piece makeMove(Position source, Position target) { // Retorna Piece para capturada
-        ChessPiece p = (ChessPiece) board.removePiece(source);
-        p.increaseMoveCount();
-        board.placePiece(p, target);
 
-        ChessPiece capturedPiece = (ChessPiece) board.removePiece(target); // Captura peça no destino
+    // Realiza um lance legal (codificado com Move) e empilha o necessário para desfazê-lo; retorna a peça capturada.
+    // Não mexe em check, checkMate nem na lista de capturadas: é o make/unmake usado pelo perft e pela busca.
+    public ChessPiece makeMove(int move) {
+        if (undoSize == undoStack.length) {
+            growUndoStack(Math.max(INITIAL_UNDO_STACK, undoStack.length * 2)); // Criada no primeiro lance
+        }
+        UndoRecord undo = undoStack[undoSize++];
+        undo.move = move;
+        undo.enPassantSquare = enPassantSquare;
+        undo.castlingRights = castlingRights;
+        undo.halfMoveClock = halfMoveClock;
+        undo.promoted = promoted;
+        undo.check = check;
+        undo.key = key;
+        undo.pawnKey = pawnKey;
+        undo.midgameScore = midgameScore;
+        undo.endgameScore = endgameScore;
+        undo.phase = phase;
+        undo.pawn = null;
+
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flag = Move.flag(move);
+        ChessPiece p = board.removePiece(board.position(from));
+        boolean pawnMove = p.getType() == PieceType.PAWN;
+        long k = key ^ Zobrist.piece(p, from);
+        long pk = pawnMove ? pawnKey ^ Zobrist.piece(p, from) : pawnKey;
+        int mg = midgameScore - PieceSquareTables.midgame(p, from);
+        int eg = endgameScore - PieceSquareTables.endgame(p, from);
+
+        // #Specialmove en passant: o peão capturado está ao lado da origem, não no destino
+        int capturedSquare = (flag == Move.EN_PASSANT) ? (from & 56) | (to & 7) : to;
+        ChessPiece capturedPiece = board.removePiece(board.position(capturedSquare));
         if (capturedPiece != null) {
             piecesOnBoard.remove(capturedPiece);
-            capturedPieces.add(capturedPiece);
+            k ^= Zobrist.piece(capturedPiece, capturedSquare);
+            if (capturedPiece.getType() == PieceType.PAWN) {
+                pk ^= Zobrist.piece(capturedPiece, capturedSquare);
+            }
+            mg -= PieceSquareTables.midgame(capturedPiece, capturedSquare);
+            eg -= PieceSquareTables.endgame(capturedPiece, capturedSquare);
+            phase -= PieceSquareTables.phase(capturedPiece.getType());
         }
+        undo.captured = capturedPiece;
 
-        // #Specialmove roque pequeno (King side castling)
-        if (p instanceof King && target.getColumn() == source.getColumn() + 2) {
-            Position sourceRook = new Position(source.getRow(), source.getColumn() + 3);
-            Position targetRook = new Position(source.getRow(), source.getColumn() + 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(sourceRook);
-            board.placePiece(rook, targetRook);
-            rook.increaseMoveCount();
+        if (Move.isPromotion(move)) { // O peão sai do tabuleiro e fica no registro para voltar no undo
+            piecesOnBoard.remove(p);
+            undo.pawn = p;
+            p = newPiece(Move.promotionType(move), p.getColor());
+            piecesOnBoard.add(p);
+            phase += PieceSquareTables.phase(p.getType());
+        }
+        p.increaseMoveCount();
+        board.placePiece(p, board.position(to));
+        k ^= Zobrist.piece(p, to);
+        if (p.getType() == PieceType.PAWN) { // Na promoção o peão sai da estrutura
+            pk ^= Zobrist.piece(p, to);
         }
+        mg += PieceSquareTables.midgame(p, to);
+        eg += PieceSquareTables.endgame(p, to);
 
-        // #Specialmove roque grande (Queen side castling)
-        if (p instanceof King && target.getColumn() == source.getColumn() - 2) {
-            Position sourceRook = new Position(source.getRow(), source.getColumn() - 4);
-            Position targetRook = new Position(source.getRow(), source.getColumn() - 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(sourceRook);
-            board.placePiece(rook, targetRook);
+        // #Specialmove roque: a torre pula para o outro lado do rei
+        if (flag == Move.CASTLING) {
+            int rookFrom = (to > from) ? from + 3 : from - 4;
+            int rookTo = (to > from) ? from + 1 : from - 1;
+            ChessPiece rook = board.removePiece(board.position(rookFrom));
+            board.placePiece(rook, board.position(rookTo));
             rook.increaseMoveCount();
+            k ^= Zobrist.piece(rook, rookFrom) ^ Zobrist.piece(rook, rookTo);
+            mg += PieceSquareTables.midgame(rook, rookTo) - PieceSquareTables.midgame(rook, rookFrom);
+            eg += PieceSquareTables.endgame(rook, rookTo) - PieceSquareTables.endgame(rook, rookFrom);
         }
 
-        // #Specialmove en passant
-        if (p instanceof Pawn) {
-            if (source.getColumn() != target.getColumn() && capturedPiece == null) { // Foi uma captura e não tinha peça no destino
-                Position pawnPosition;
-                if (p.getColor() == Color.WHITE) {
-                    pawnPosition = new Position(target.getRow() + 1, target.getColumn());
-                } else {
-                    pawnPosition = new Position(target.getRow() - 1, target.getColumn());
-                }
-                capturedPiece = (ChessPiece)board.removePiece(pawnPosition);
-                capturedPieces.add(capturedPiece);
-                piecesOnBoard.remove(capturedPiece);
+        k ^= Zobrist.castling(castlingRights);
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        k ^= Zobrist.castling(castlingRights);
+
+        halfMoveClock = (pawnMove || capturedPiece != null) ? 0 : halfMoveClock + 1;
+
+        if (enPassantSquare >= 0) {
+            k ^= Zobrist.enPassant(enPassantSquare);
+        }
+        enPassantSquare = -1;
+        if (flag == Move.DOUBLE_PUSH) {
+            // Só registra o en passant se algum peão adversário pode de fato capturar: posições iguais ficam com a mesma chave
+            int skipped = (from + to) >>> 1;
+            if ((Attacks.pawn(currentPlayer, skipped) & board.getPieces(opponent(currentPlayer), PieceType.PAWN)) != 0) {
+                enPassantSquare = skipped;
+                k ^= Zobrist.enPassant(skipped);
             }
         }
 
+        key = k ^ Zobrist.side();
+        pawnKey = pk;
+        midgameScore = mg;
+        endgameScore = eg;
+        currentPlayer = opponent(currentPlayer);
+        turn++;
         return capturedPiece;
     }
 
-    // Desfaz um movimento (para verificar xeque)
-    private void undoMove(Position source, Position target, ChessPiece capturedPiece) {
-        ChessPiece p = (ChessPiece) board.removePiece(target);
-        p.decreaseMoveCount();
-        board.placePiece(p, source);
-
-        if (capturedPiece != null) {
-            board.placePiece(capturedPiece, target);
-            capturedPieces.remove(capturedPiece);
-            piecesOnBoard.add(capturedPiece);
+    // Desfaz o último lance feito com makeMove, restaurando exatamente o estado anterior
+    public void undoMove() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("Não há lance para desfazer!");
         }
+        UndoRecord undo = undoStack[--undoSize];
+        int move = undo.move;
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flag = Move.flag(move);
+        currentPlayer = opponent(currentPlayer);
+        turn--;
 
-        // #Specialmove undo roque pequeno
-        if (p instanceof King && target.getColumn() == source.getColumn() + 2) {
-            Position sourceRook = new Position(source.getRow(), source.getColumn() + 3);
-            Position targetRook = new Position(source.getRow(), source.getColumn() + 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(targetRook);
-            board.placePiece(rook, sourceRook);
-            rook.decreaseMoveCount();
+        ChessPiece p = board.removePiece(board.position(to));
+        if (undo.pawn != null) { // Desfaz a promoção (a peça no destino pode ter sido trocada por replacePromotedPiece)
+            piecesOnBoard.remove(p);
+            p = undo.pawn;
+            piecesOnBoard.add(p);
+        } else {
+            p.decreaseMoveCount();
         }
+        board.placePiece(p, board.position(from));
 
-        // #Specialmove undo roque grande
-        if (p instanceof King && target.getColumn() == source.getColumn() - 2) {
-            Position sourceRook = new Position(source.getRow(), source.getColumn() - 4);
-            Position targetRook = new Position(source.getRow(), source.getColumn() - 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(targetRook);
-            board.placePiece(rook, sourceRook);
+        // #Specialmove undo roque
+        if (flag == Move.CASTLING) {
+            int rookFrom = (to > from) ? from + 3 : from - 4;
+            int rookTo = (to > from) ? from + 1 : from - 1;
+            ChessPiece rook = board.removePiece(board.position(rookTo));
+            board.placePiece(rook, board.position(rookFrom));
             rook.decreaseMoveCount();
         }
 
-        // #Specialmove undo en passant
-        if (p instanceof Pawn) {
-            if (source.getColumn() != target.getColumn() && capturedPiece == enPassantVulnerable) { // Se foi uma captura en passant
-                ChessPiece pawn = (ChessPiece)board.removePiece(target); // Remove o peão que foi para a casa vazia
-                Position pawnPosition;
-                if (p.getColor() == Color.WHITE) {
-                    pawnPosition = new Position(3, target.getColumn()); // Volta para a linha 5 (índice 3)
-                } else {
-                    pawnPosition = new Position(4, target.getColumn()); // Volta para a linha 4 (índice 4)
-                }
-                board.placePiece(capturedPiece, pawnPosition); // Coloca a peça capturada de volta
-                piecesOnBoard.add(capturedPiece); // Adiciona de volta à lista de peças no tabuleiro
-            }
+        if (undo.captured != null) {
+            int capturedSquare = (flag == Move.EN_PASSANT) ? (from & 56) | (to & 7) : to;
+            board.placePiece(undo.captured, board.position(capturedSquare));
+            piecesOnBoard.add(undo.captured);
         }
+
+        enPassantSquare = undo.enPassantSquare;
+        castlingRights = undo.castlingRights;
+        halfMoveClock = undo.halfMoveClock;
+        promoted = undo.promoted;
+        check = undo.check;
+        key = undo.key; // A chave e as somas da avaliação anteriores estão no registro: restaurar é O(1)
+        pawnKey = undo.pawnKey;
+        midgameScore = undo.midgameScore;
+        endgameScore = undo.endgameScore;
+        phase = undo.phase;
+        undo.captured = null; // Não segura referências a peças fora do tabuleiro
+        undo.pawn = null;
+        undo.promoted = null;
     }
 
+    private void growUndoStack(int size) {
+        UndoRecord[] stack = Arrays.copyOf(undoStack, size);
+        for (int i = undoStack.length; i < size; i++) {
+            stack[i] = new UndoRecord();
+        }
+        undoStack = stack;
+    }
 
     // Valida se a posição de origem possui uma peça do jogador atual e se ela pode mover
     private void validateSourcePosition(Position position) {
@@ -246,16 +632,35 @@ public class ChessMatch {
         if (currentPlayer != ((ChessPiece) board.piece(position)).getColor()) {
             throw new ChessException("A peça escolhida não é sua");
         }
-        if (!((ChessPiece) board.piece(position)).isThereAnyPossibleMove()) {
-            throw new ChessException("Não há movimentos possíveis para a peça escolhida");
+        int from = Board.square(position.getRow(), position.getColumn());
+        int n = generateLegalMoves(currentPlayer, legalBuffer());
+        for (int i = 0; i < n; i++) {
+            if (Move.from(legalBuffer[i]) == from) {
+                return;
+            }
+        }
+        if (((ChessPiece) board.piece(position)).isThereAnyPossibleMove()) {
+            throw new ChessException("Você não pode se colocar em xeque!");
         }
+        throw new ChessException("Não há movimentos possíveis para a peça escolhida");
     }
 
-    // Valida se a posição de destino é um movimento válido para a peça de origem
-    private void validateTargetPosition(Position source, Position target) {
-        if (!board.piece(source).possibleMove(target)) {
-            throw new ChessException("A peça escolhida não pode mover para a posição de destino");
+    // Valida se a posição de destino é um movimento legal para a peça de origem e retorna o lance
+    // (na promoção, o lance que promove para Rainha)
+    private int validateTargetPosition(Position source, Position target) {
+        int from = Board.square(source.getRow(), source.getColumn());
+        int to = Board.square(target.getRow(), target.getColumn());
+        int n = generateLegalMoves(currentPlayer, legalBuffer());
+        for (int i = 0; i < n; i++) {
+            int move = legalBuffer[i];
+            if (Move.from(move) == from && Move.to(move) == to && (!Move.isPromotion(move) || Move.promotionType(move) == PieceType.QUEEN)) {
+                return move;
+            }
         }
+        if (board.piece(source).possibleMove(target)) {
+            throw new ChessException("Você não pode se colocar em xeque!");
+        }
+        throw new ChessException("A peça escolhida não pode mover para a posição de destino");
     }
 
     // Retorna o oponente da cor atual
@@ -263,59 +668,260 @@ public class ChessMatch {
         return (color == Color.WHITE) ? Color.BLACK : Color.WHITE;
     }
 
-    // Encontra o Rei de uma determinada cor
-    private ChessPiece king(Color color) {
-        List<ChessPiece> list = piecesOnBoard.stream().filter(x -> x.getColor() == color && x instanceof King).collect(Collectors.toList());
-        if (list.isEmpty()) {
-            throw new IllegalStateException("Não há rei " + color + " no tabuleiro!");
+    // Casa do rei no bitboard
+    private int kingSquare(Color color) {
+        return Long.numberOfTrailingZeros(board.getPieces(color, PieceType.KING));
+    }
+
+    // Verifica se a casa é atacada por alguma peça da cor attacker
+    public boolean isSquareAttacked(ChessPosition chessPosition, Color attacker) {
+        Position position = chessPosition.toPosition();
+        return isSquareAttacked(Board.square(position.getRow(), position.getColumn()), attacker);
+    }
+
+    // Olha a partir da casa: as peças que a atacam são as que estão nas casas que ela "atacaria" com o mesmo movimento
+    public boolean isSquareAttacked(int square, Color attacker) {
+        return attackersTo(square, attacker, board.getOccupied()) != 0;
+    }
+
+    // Bitboard das peças de attacker que atacam a casa, supondo a ocupação dada para as peças de longo alcance
+    private long attackersTo(int square, Color attacker, long occupied) {
+        long queens = board.getPieces(attacker, PieceType.QUEEN);
+        return (Attacks.pawn(opponent(attacker), square) & board.getPieces(attacker, PieceType.PAWN))
+                | (Attacks.knight(square) & board.getPieces(attacker, PieceType.KNIGHT))
+                | (Attacks.king(square) & board.getPieces(attacker, PieceType.KING))
+                | (Attacks.bishop(square, occupied) & (board.getPieces(attacker, PieceType.BISHOP) | queens))
+                | (Attacks.rook(square, occupied) & (board.getPieces(attacker, PieceType.ROOK) | queens));
+    }
+
+    // Troca estática (SEE): saldo de material, em centipeões, da sequência de capturas na casa de destino que o lance
+    // inicia, supondo que cada lado recaptura sempre com a peça menos valiosa e pode parar quando não compensa.
+    // Só usa consultas de ataque sobre uma ocupação que vai perdendo as peças que já capturaram (o que revela os
+    // ataques em raio-x atrás delas); nenhum lance é feito. Cravadas são ignoradas.
+    public int staticExchange(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece mover = board.pieceAt(from);
+        long occupied = board.getOccupied();
+        int[] gain = seeGain;
+
+        ChessPiece victim = board.pieceAt(to);
+        gain[0] = (victim != null) ? SEE_VALUES[victim.getType().ordinal()] : 0;
+        if (Move.flag(move) == Move.EN_PASSANT) {
+            gain[0] = SEE_VALUES[PieceType.PAWN.ordinal()];
+            occupied ^= 1L << ((from & 56) | (to & 7));
         }
-        return list.get(0);
+        int attackerValue = SEE_VALUES[mover.getType().ordinal()];
+        if (Move.isPromotion(move)) {
+            int promotedValue = SEE_VALUES[Move.promotionType(move).ordinal()];
+            gain[0] += promotedValue - SEE_VALUES[PieceType.PAWN.ordinal()];
+            attackerValue = promotedValue;
+        }
+
+        Color side = mover.getColor();
+        long fromBit = 1L << from;
+        int d = 0;
+        while (true) {
+            d++;
+            gain[d] = attackerValue - gain[d - 1]; // Saldo se a peça que acabou de capturar for capturada
+            if (Math.max(-gain[d - 1], gain[d]) < 0) {
+                break; // Nenhum dos lados melhora continuando a troca
+            }
+            occupied ^= fromBit;
+            side = opponent(side);
+            long attackers = (attackersTo(to, Color.WHITE, occupied) | attackersTo(to, Color.BLACK, occupied))
+                    & occupied & board.getPieces(side);
+            if (attackers == 0) {
+                break;
+            }
+            for (PieceType type : PIECE_TYPES) { // Menos valiosa primeiro
+                long candidates = attackers & board.getPieces(side, type);
+                if (candidates != 0) {
+                    fromBit = Long.lowestOneBit(candidates);
+                    attackerValue = SEE_VALUES[type.ordinal()];
+                    break;
+                }
+            }
+        }
+        // Volta da última captura para a primeira: cada lado escolhe entre parar e continuar
+        while (--d > 0) {
+            gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+        }
+        return gain[0];
     }
 
-    // Verifica se a cor especificada está em xeque
-    private boolean testCheck(Color color) {
-        Position kingPosition = king(color).getPosition(); // Posição do rei da cor
-        // Pega todas as peças do oponente
-        List<ChessPiece> opponentPieces = piecesOnBoard.stream().filter(x -> x.getColor() == opponent(color)).collect(Collectors.toList());
-        for (ChessPiece p : opponentPieces) {
-            boolean[][] mat = p.possibleMoves();
-            if (mat[kingPosition.getRow()][kingPosition.getColumn()]) { // Se alguma peça do oponente pode mover para a posição do rei
-                return true;
+    // Gera os lances legais de us sem simular nenhum lance: calcula antes as peças cravadas e a máscara de
+    // casas que resolvem o xeque, e só então gera os lances de cada peça restritos a essas casas
+    private int generateLegalMoves(Color us, int[] moves) {
+        return generateLegalMoves(us, moves, GEN_ALL, ~0L);
+    }
+
+    // Gera os lances legais do tipo pedido (GEN_ALL, GEN_CAPTURES ou GEN_QUIETS) só das peças em fromMask
+    private int generateLegalMoves(Color us, int[] moves, int kind, long fromMask) {
+        Color them = opponent(us);
+        int kingSquare = kingSquare(us);
+        long kingBit = 1L << kingSquare;
+        long occupied = board.getOccupied();
+        long own = board.getPieces(us);
+        long enemy = board.getPieces(them);
+        long checkers = attackersTo(kingSquare, them, occupied);
+        int n = 0;
+
+        // Destinos permitidos pelo tipo de geração (o peão é filtrado depois, por causa de en passant e promoção)
+        long kindMask = (kind == GEN_CAPTURES) ? enemy : (kind == GEN_QUIETS) ? ~occupied : ~0L;
+
+        // Rei: cada destino é testado sem o rei na ocupação, para não se esconder atrás de si mesmo num raio
+        long kingTargets = ((fromMask & kingBit) != 0) ? Attacks.king(kingSquare) & ~own & kindMask : 0L;
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if (attackersTo(to, them, occupied ^ kingBit) == 0) {
+                moves[n++] = Move.of(kingSquare, to);
             }
         }
-        return false;
+
+        if (Long.bitCount(checkers) > 1) {
+            return n; // Xeque duplo: só o rei pode mover
+        }
+
+        // Com um atacante, as outras peças só podem capturá-lo ou bloquear o raio até o rei
+        long checkMask = ~0L;
+        if (checkers != 0) {
+            checkMask = checkers | Attacks.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+        } else if (kind != GEN_CAPTURES && (fromMask & kingBit) != 0) {
+            n = generateCastling(us, kingSquare, moves, n);
+        }
+
+        // Peças cravadas: uma única peça própria entre o rei e uma peça adversária de longo alcance
+        long pinned = 0L;
+        long snipers = (Attacks.rook(kingSquare, enemy) & (board.getPieces(them, PieceType.ROOK) | board.getPieces(them, PieceType.QUEEN)))
+                | (Attacks.bishop(kingSquare, enemy) & (board.getPieces(them, PieceType.BISHOP) | board.getPieces(them, PieceType.QUEEN)));
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(kingSquare, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & own;
+            }
+        }
+
+        for (PieceType type : PIECE_TYPES) {
+            if (type == PieceType.KING) {
+                continue;
+            }
+            for (int k = 0; k < piecesOnBoard.count(us, type); k++) {
+                ChessPiece p = piecesOnBoard.get(us, type, k);
+                Position position = p.getPosition();
+                int from = Board.square(position.getRow(), position.getColumn());
+                if ((fromMask & (1L << from)) == 0) {
+                    continue;
+                }
+                long targets = checkMask;
+                if ((pinned & (1L << from)) != 0) {
+                    targets &= Attacks.line(kingSquare, from); // Cravada: só anda sobre a linha do rei
+                }
+                int start = n;
+                if (type == PieceType.PAWN) {
+                    n = p.generateMoves(moves, n, targets);
+                    n = filterPawnMoves(us, kingSquare, moves, start, n, kind);
+                } else {
+                    n = p.generateMoves(moves, n, targets & kindMask);
+                }
+            }
+        }
+        return n;
+    }
+
+    // Mantém só os lances de peão do tipo pedido. O en passant tira duas peças da mesma linha; é validado
+    // recalculando os ataques ao rei com a ocupação resultante.
+    private int filterPawnMoves(Color us, int kingSquare, int[] moves, int start, int end, int kind) {
+        int n = start;
+        for (int i = start; i < end; i++) {
+            int move = moves[i];
+            if (kind != GEN_ALL && (kind == GEN_CAPTURES) != isTactical(move)) {
+                continue;
+            }
+            if (Move.flag(move) == Move.EN_PASSANT) {
+                int from = Move.from(move);
+                int to = Move.to(move);
+                int capturedSquare = (from & 56) | (to & 7); // Mesma linha da origem, coluna do destino
+                long capturedBit = 1L << capturedSquare;
+                long occupied = (board.getOccupied() ^ (1L << from) ^ capturedBit) | (1L << to);
+                if ((attackersTo(kingSquare, opponent(us), occupied) & ~capturedBit) != 0) {
+                    continue;
+                }
+            }
+            moves[n++] = move;
+        }
+        return n;
+    }
+
+    // #Specialmove roque: direito ainda disponível (rei e torre nunca moveram), casas entre eles vazias,
+    // e o rei não passa nem para em casa atacada
+    private int generateCastling(Color us, int kingSquare, int[] moves, int n) {
+        int homeSquare = (us == Color.WHITE) ? 4 : 60; // e1 ou e8
+        int kingside = (us == Color.WHITE) ? WHITE_KINGSIDE : BLACK_KINGSIDE;
+        int queenside = (us == Color.WHITE) ? WHITE_QUEENSIDE : BLACK_QUEENSIDE;
+        if (kingSquare != homeSquare || (castlingRights & (kingside | queenside)) == 0) {
+            return n;
+        }
+        Color them = opponent(us);
+        long occupied = board.getOccupied();
+        if ((castlingRights & kingside) != 0 && canCastle(us, kingSquare + 3) && (occupied & Attacks.between(kingSquare, kingSquare + 3)) == 0
+                && !isSquareAttacked(kingSquare + 1, them) && !isSquareAttacked(kingSquare + 2, them)) {
+            moves[n++] = Move.of(kingSquare, kingSquare + 2, Move.CASTLING);
+        }
+        if ((castlingRights & queenside) != 0 && canCastle(us, kingSquare - 4) && (occupied & Attacks.between(kingSquare, kingSquare - 4)) == 0
+                && !isSquareAttacked(kingSquare - 1, them) && !isSquareAttacked(kingSquare - 2, them)) {
+            moves[n++] = Move.of(kingSquare, kingSquare - 2, Move.CASTLING);
+        }
+        return n;
+    }
+
+    // Verifica se há na casa uma torre da cor (protege contra FENs com direitos de roque inconsistentes)
+    private boolean canCastle(Color us, int rookSquare) {
+        ChessPiece rook = board.pieceAt(rookSquare);
+        return rook != null && rook.getColor() == us && rook.getType() == PieceType.ROOK;
+    }
+
+    // Verifica se a cor especificada está em xeque
+    private boolean testCheck(Color color) {
+        return isSquareAttacked(kingSquare(color), opponent(color));
     }
 
-    // Verifica se a cor especificada está em xeque-mate
+    // Verifica se a cor especificada está em xeque-mate: em xeque e sem nenhum lance legal
     private boolean testCheckMate(Color color) {
         if (!testCheck(color)) { // Se não está em xeque, não pode ser xeque-mate
             return false;
         }
-        List<ChessPiece> list = piecesOnBoard.stream().filter(x -> x.getColor() == color).collect(Collectors.toList());
-        for (ChessPiece p : list) { // Para cada peça da cor que está em xeque
-            boolean[][] mat = p.possibleMoves(); // Pega os movimentos possíveis da peça
-            for (int i = 0; i < board.getRows(); i++) {
-                for (int j = 0; j < board.getColumns(); j++) {
-                    if (mat[i][j]) { // Se a peça pode mover para a posição [i][j]
-                        Position source = p.getPosition();
-                        Position target = new Position(i, j);
-                        ChessPiece capturedPiece = (ChessPiece) makeMove(source, target); // Simula o movimento
-                        boolean testCheck = testCheck(color); // Verifica se ainda está em xeque
-                        undoMove(source, target, capturedPiece); // Desfaz o movimento simulado
-                        if (!testCheck) { // Se o movimento tirou do xeque
-                            return false; // Não é xeque-mate
-                        }
-                    }
-                }
-            }
+        return generateLegalMoves(color, legalBuffer()) == 0;
+    }
+
+    // Perft: conta as folhas da árvore de lances legais até a profundidade dada. Os totais são conhecidos para
+    // posições de teste padrão, então qualquer divergência aponta um erro no gerador ou no make/undo.
+    public long perft(int depth) {
+        if (depth < 1) {
+            return 1;
         }
-        return true; // Se nenhuma peça pode mover para tirar do xeque, é xeque-mate
+        if (perftMoves == null || perftMoves.length < depth) {
+            perftMoves = new int[depth][MAX_LEGAL_MOVES];
+        }
+        return perft(depth, 0);
     }
 
-    // Avança para o próximo turno
-    private void nextTurn() {
-        turn++;
-        currentPlayer = (currentPlayer == Color.WHITE) ? Color.BLACK : Color.WHITE;
+    private long perft(int depth, int ply) {
+        int[] moves = perftMoves[ply];
+        int n = generateLegalMoves(currentPlayer, moves);
+        if (depth == 1) {
+            return n;
+        }
+        long nodes = 0;
+        for (int i = 0; i < n; i++) {
+            makeMove(moves[i]);
+            nodes += perft(depth - 1, ply + 1);
+            undoMove();
+        }
+        return nodes;
     }
 
     // Coloca uma nova peça na posição de xadrez (ex: 'a1', 'e4')
@@ -324,6 +930,238 @@ public class ChessMatch {
         piecesOnBoard.add(piece); // Adiciona à lista de peças no tabuleiro
     }
 
+    // Lê a FEN em uma única passada, caractere a caractere, sem split nem substrings: as peças vão direto para o
+    // tabuleiro e para o índice de peças, e as chaves e as somas da avaliação são calculadas uma vez no fim
+    private void loadFen(String fen) {
+        int length = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        int row = 0;
+        int column = 0;
+        int[] sidePieces = new int[2];
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (column != 8 || ++row > 7) {
+                    throw invalidFen(fen);
+                }
+                column = 0;
+            } else if (c >= '1' && c <= '8') {
+                column += c - '0';
+                if (column > 8) {
+                    throw invalidFen(fen);
+                }
+            } else {
+                if (column > 7) {
+                    throw invalidFen(fen);
+                }
+                ChessPiece piece = newPiece(c, fen);
+                // O índice de peças e os buffers de lances supõem uma posição alcançável: no máximo 16 peças por
+                // lado, um rei de cada cor e nenhum peão na primeira ou na última fileira
+                if (++sidePieces[piece.getColor().ordinal()] > 16) {
+                    throw new ChessException("FEN inválida: mais de 16 peças de um lado");
+                }
+                if (piece.getType() == PieceType.KING && piecesOnBoard.king(piece.getColor()) != null) {
+                    throw new ChessException("FEN inválida: mais de um rei da mesma cor");
+                }
+                if (piece.getType() == PieceType.PAWN && (row == 0 || row == 7)) {
+                    throw new ChessException("FEN inválida: peão na primeira ou na última fileira");
+                }
+                board.placePiece(piece, board.position(Board.square(row, column)));
+                piecesOnBoard.add(piece);
+                column++;
+            }
+        }
+        if (row != 7 || column != 8) {
+            throw invalidFen(fen);
+        }
+        if (piecesOnBoard.king(Color.WHITE) == null || piecesOnBoard.king(Color.BLACK) == null) {
+            throw new ChessException("FEN inválida: cada lado precisa de um rei");
+        }
+
+        i = skipSpaces(fen, i);
+        if (i >= length || (fen.charAt(i) != 'w' && fen.charAt(i) != 'b')) {
+            throw invalidFen(fen);
+        }
+        currentPlayer = (fen.charAt(i++) == 'b') ? Color.BLACK : Color.WHITE;
+
+        i = skipSpaces(fen, i);
+        if (i >= length) {
+            throw invalidFen(fen);
+        }
+        castlingRights = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            switch (fen.charAt(i)) {
+                case 'K': castlingRights |= WHITE_KINGSIDE; break;
+                case 'Q': castlingRights |= WHITE_QUEENSIDE; break;
+                case 'k': castlingRights |= BLACK_KINGSIDE; break;
+                case 'q': castlingRights |= BLACK_QUEENSIDE; break;
+                case '-': break;
+                default: throw invalidFen(fen);
+            }
+        }
+        if (!castlingPiecesInPlace()) {
+            throw new ChessException("FEN inválida: direito de roque sem o rei ou a torre na casa inicial");
+        }
+
+        i = skipSpaces(fen, i);
+        if (i >= length) {
+            throw invalidFen(fen);
+        }
+        if (fen.charAt(i) == '-') {
+            i++;
+        } else {
+            if (i + 1 >= length) {
+                throw invalidFen(fen);
+            }
+            int file = fen.charAt(i) - 'a';
+            int rank = fen.charAt(i + 1) - '1';
+            if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+                throw invalidFen(fen);
+            }
+            i += 2;
+            enPassantSquare = file + 8 * rank;
+            // A casa precisa ser a que um avanço duplo do adversário acabou de pular: na 6ª fileira (3ª se as pretas
+            // jogam), vazia, com a casa de origem do avanço vazia e o peão adversário logo à frente
+            Color mover = opponent(currentPlayer);
+            int forward = (mover == Color.WHITE) ? 8 : -8;
+            if (rank != ((mover == Color.WHITE) ? 2 : 5) || board.pieceAt(enPassantSquare) != null
+                    || board.pieceAt(enPassantSquare - forward) != null
+                    || !isPiece(enPassantSquare + forward, mover, PieceType.PAWN)) {
+                throw new ChessException("FEN inválida: casa de en passant incompatível com a posição");
+            }
+            // Como em makeMove, descarta o en passant que nenhum peão pode capturar
+            if ((Attacks.pawn(mover, enPassantSquare) & board.getPieces(currentPlayer, PieceType.PAWN)) == 0) {
+                enPassantSquare = -1;
+            }
+        }
+
+        // Relógio de meio-lances e número do lance são opcionais
+        i = skipSpaces(fen, i);
+        halfMoveClock = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            halfMoveClock = halfMoveClock * 10 + digit(fen, i);
+        }
+        i = skipSpaces(fen, i);
+        int fullMove = (i < length) ? 0 : 1;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            fullMove = fullMove * 10 + digit(fen, i);
+        }
+        if (skipSpaces(fen, i) != length) {
+            throw invalidFen(fen);
+        }
+
+        if (testCheck(opponent(currentPlayer))) { // O lado a jogar poderia capturar o rei
+            throw new ChessException("FEN inválida: o lado que não está na vez está em xeque");
+        }
+
+        key = computeKey();
+        pawnKey = computePawnKey();
+        computeScores();
+        turn = 2 * (Math.max(1, fullMove) - 1) + (currentPlayer == Color.WHITE ? 1 : 2);
+        check = testCheck(currentPlayer);
+    }
+
+    // Posição em notação FEN. O en passant só aparece quando há captura possível, como na chave da posição.
+    public String toFen() {
+        StringBuilder fen = new StringBuilder(90);
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int column = 0; column < 8; column++) {
+                ChessPiece piece = board.pieceAt(Board.square(row, column));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char c = FEN_PIECES.charAt(piece.getType().ordinal());
+                fen.append(piece.getColor() == Color.WHITE ? c : Character.toLowerCase(c));
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (row < 7) {
+                fen.append('/');
+            }
+        }
+        fen.append(currentPlayer == Color.WHITE ? " w " : " b ");
+        if (castlingRights == 0) {
+            fen.append('-');
+        } else {
+            if ((castlingRights & WHITE_KINGSIDE) != 0) fen.append('K');
+            if ((castlingRights & WHITE_QUEENSIDE) != 0) fen.append('Q');
+            if ((castlingRights & BLACK_KINGSIDE) != 0) fen.append('k');
+            if ((castlingRights & BLACK_QUEENSIDE) != 0) fen.append('q');
+        }
+        fen.append(' ').append(enPassantSquare >= 0 ? Move.squareName(enPassantSquare) : "-");
+        fen.append(' ').append(halfMoveClock);
+        fen.append(' ').append((turn - 1) / 2 + 1);
+        return fen.toString();
+    }
+
+    // Cada direito de roque exige o rei e a torre correspondente nas casas iniciais
+    private boolean castlingPiecesInPlace() {
+        return ((castlingRights & (WHITE_KINGSIDE | WHITE_QUEENSIDE)) == 0 || isPiece(4, Color.WHITE, PieceType.KING))
+                && ((castlingRights & WHITE_KINGSIDE) == 0 || isPiece(7, Color.WHITE, PieceType.ROOK))
+                && ((castlingRights & WHITE_QUEENSIDE) == 0 || isPiece(0, Color.WHITE, PieceType.ROOK))
+                && ((castlingRights & (BLACK_KINGSIDE | BLACK_QUEENSIDE)) == 0 || isPiece(60, Color.BLACK, PieceType.KING))
+                && ((castlingRights & BLACK_KINGSIDE) == 0 || isPiece(63, Color.BLACK, PieceType.ROOK))
+                && ((castlingRights & BLACK_QUEENSIDE) == 0 || isPiece(56, Color.BLACK, PieceType.ROOK));
+    }
+
+    private boolean isPiece(int square, Color color, PieceType type) {
+        ChessPiece piece = board.pieceAt(square);
+        return piece != null && piece.getColor() == color && piece.getType() == type;
+    }
+
+    private ChessPiece newPiece(char c, String fen) {
+        switch (c) {
+            case 'K': return new King(board, Color.WHITE);
+            case 'Q': return new Queen(board, Color.WHITE);
+            case 'R': return new Rook(board, Color.WHITE);
+            case 'B': return new Bishop(board, Color.WHITE);
+            case 'N': return new Knight(board, Color.WHITE);
+            case 'P': return new Pawn(board, Color.WHITE, this);
+            case 'k': return new King(board, Color.BLACK);
+            case 'q': return new Queen(board, Color.BLACK);
+            case 'r': return new Rook(board, Color.BLACK);
+            case 'b': return new Bishop(board, Color.BLACK);
+            case 'n': return new Knight(board, Color.BLACK);
+            case 'p': return new Pawn(board, Color.BLACK, this);
+            default: throw invalidFen(fen);
+        }
+    }
+
+    // Partidas carregadas de FEN em lote muitas vezes nem validam um lance: o buffer só é alocado quando usado
+    private int[] legalBuffer() {
+        if (legalBuffer == null) {
+            legalBuffer = new int[MAX_LEGAL_MOVES];
+        }
+        return legalBuffer;
+    }
+
+    private static int skipSpaces(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int digit(String fen, int i) {
+        char c = fen.charAt(i);
+        if (c < '0' || c > '9') {
+            throw invalidFen(fen);
+        }
+        return c - '0';
+    }
+
+    private static ChessException invalidFen(String fen) {
+        return new ChessException("FEN inválida: " + fen);
+    }
+
     // Configuração inicial das peças no tabuleiro
     private void initialSetup() {
         // Peças Brancas
@@ -4,6 +4,7 @@ package chess;
 import board.Board;
 import board.Position;
 import chess.enums.Color;
+import chess.enums.PieceType;
 
 public abstract class ChessPiece {
 
@@ -11,13 +12,10 @@ public abstract class ChessPiece {
     private Color color;
     private int moveCount; // Contador de movimentos para regras como roque e en passant
 
-    public ChessPiece(Board board, Color color) {
-        this.position = null; // Começa sem posição no tabuleiro
-        // A peça sabe em qual tabuleiro está, mas não passa o board no construtor dela.
-        // O board é passado para ela no método placePiece do Board.
-        this.color = color;
-        this.moveCount = 0;
-    }
+    public static final int MAX_MOVES = 32; // Máximo de movimentos de uma peça (rainha: 27, peão com promoções: 12)
+    private int[] moveBuffer; // Reutilizado por possibleMove e isThereAnyPossibleMove; criado no primeiro uso
+
+    int indexSlot; // Posição da peça no PieceIndex da partida
 
     // Getter para o tabuleiro (board) - precisa ser acessado pelas peças para verificar movimentos
     // No entanto, ChessPiece não tem uma referência direta ao Board,
@@ -45,6 +43,11 @@ public abstract class ChessPiece {
         return position;
     }
 
+    // Chamado pelo Board ao colocar ou remover a peça (Board fica em outro pacote)
+    public void setPosition(Position position) {
+        this.position = position;
+    }
+
     protected Board getBoard() {
         return board;
     }
@@ -61,25 +64,61 @@ public abstract class ChessPiece {
         moveCount--;
     }
 
-    // Método abstrato para movimentos possíveis - cada peça implementa o seu
-    public abstract boolean[][] possibleMoves();
+    // Usado por ChessMatch.copy para reproduzir o estado da peça original
+    void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    // Tipo da peça, usado pelos bitboards do Board
+    public abstract PieceType getType();
+
+    // Gera os movimentos possíveis da peça codificados com Move, escrevendo em moves a partir de start.
+    // Retorna o índice seguinte ao último movimento escrito. Cada peça gera no máximo MAX_MOVES.
+    public int generateMoves(int[] moves, int start) {
+        return generateMoves(moves, start, ~0L);
+    }
+
+    // Igual ao anterior, mas só gera lances cujo destino está em targets (usado pelo gerador de lances legais
+    // para aplicar as máscaras de xeque e de cravada). O en passant é sempre gerado e validado pela ChessMatch.
+    public abstract int generateMoves(int[] moves, int start, long targets);
 
     // Método concreto que verifica se pode mover para uma posição
     public boolean possibleMove(Position position) {
-        return possibleMoves()[position.getRow()][position.getColumn()];
+        int target = Board.square(position.getRow(), position.getColumn());
+        int n = generateMoves(moveBuffer(), 0);
+        for (int i = 0; i < n; i++) {
+            if (Move.to(moveBuffer[i]) == target) {
+                return true;
+            }
+        }
+        return false;
     }
 
     // Método que verifica se existe algum movimento possível para a peça
     public boolean isThereAnyPossibleMove() {
-        boolean[][] mat = possibleMoves();
-        for (int i = 0; i < mat.length; i++) {
-            for (int j = 0; j < mat.length; j++) {
-                if (mat[i][j]) {
-                    return true;
-                }
-            }
+        return generateMoves(moveBuffer(), 0) > 0;
+    }
+
+    // As peças criadas em massa (FEN, cópias para a busca) quase nunca usam o buffer: só aloca quando precisa
+    private int[] moveBuffer() {
+        if (moveBuffer == null) {
+            moveBuffer = new int[MAX_MOVES];
         }
-        return false;
+        return moveBuffer;
+    }
+
+    // Índice da casa atual da peça no bitboard
+    protected int square() {
+        return Board.square(position.getRow(), position.getColumn());
+    }
+
+    // Adiciona um lance da casa from para cada bit de targets
+    protected static int addMoves(int[] moves, int n, int from, long targets) {
+        while (targets != 0) {
+            moves[n++] = Move.of(from, Long.numberOfTrailingZeros(targets));
+            targets &= targets - 1; // Remove o bit menos significativo
+        }
+        return n;
     }
 
     // Método auxiliar para verificar se é uma peça do oponente
@@ -0,0 +1,73 @@
+// chess/Move.java
+package chess;
+
+import board.Board;
+import chess.enums.PieceType;
+
+// Movimento codificado em um int, para gerar listas de lances sem alocar objetos:
+// bits 0-5 origem, 6-11 destino, 12-14 peça da promoção (PieceType.ordinal(), 0 = sem promoção), 15-16 tipo especial
+public final class Move {
+
+    public static final int NONE = 0; // a1a1 nunca é um lance válido
+
+    // Tipos especiais de movimento
+    public static final int NORMAL = 0;
+    public static final int CASTLING = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int DOUBLE_PUSH = 3;
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private Move() {
+    }
+
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    public static int of(int from, int to, int flag) {
+        return from | (to << 6) | (flag << 15);
+    }
+
+    public static int promotion(int from, int to, PieceType type) {
+        return from | (to << 6) | (type.ordinal() << 12);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int flag(int move) {
+        return (move >>> 15) & 0x3;
+    }
+
+    public static boolean isPromotion(int move) {
+        return ((move >>> 12) & 0x7) != 0;
+    }
+
+    // Peça escolhida na promoção, ou null se o lance não for promoção
+    public static PieceType promotionType(int move) {
+        int type = (move >>> 12) & 0x7;
+        return type == 0 ? null : TYPES[type];
+    }
+
+    // Nome da casa no formato de xadrez (ex: "e4")
+    public static String squareName(int square) {
+        return "" + (char) ('a' + Board.column(square)) + (char) ('1' + (square >>> 3));
+    }
+
+    // Notação de coordenadas (ex: "e2e4", "e7e8q")
+    public static String toString(int move) {
+        String s = squareName(from(move)) + squareName(to(move));
+        PieceType type = promotionType(move);
+        if (type == PieceType.KNIGHT) return s + "n";
+        if (type == PieceType.BISHOP) return s + "b";
+        if (type == PieceType.ROOK) return s + "r";
+        if (type == PieceType.QUEEN) return s + "q";
+        return s;
+    }
+}
@@ -0,0 +1,147 @@
+// chess/ParallelPerft.java
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Perft paralelo com fork/join: os lances da raiz (e, nas árvores fundas, também os do ply seguinte) viram tarefas
+// do ForkJoinPool, cada uma com a sua cópia da partida feita por ChessMatch.copy(). Subárvores rasas rodam em série
+// dentro da tarefa com makeMove/undoMove, sem criar objetos. Opcionalmente consulta um PerftCache compartilhado.
+public class ParallelPerft {
+
+    private static final int SPLIT_PLIES = 2; // Plies que ainda são divididos em tarefas
+    private static final int MIN_SPLIT_DEPTH = 4; // Abaixo disso a subárvore é pequena demais para valer uma cópia
+
+    private final ForkJoinPool pool;
+    private final PerftCache cache; // null = sem cache
+
+    public ParallelPerft(int threads) {
+        this(threads, null);
+    }
+
+    public ParallelPerft(int threads, PerftCache cache) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser pelo menos 1");
+        }
+        this.pool = new ForkJoinPool(threads);
+        this.cache = cache;
+    }
+
+    public int getThreads() {
+        return pool.getParallelism();
+    }
+
+    // Total de folhas até a profundidade. A partida não é alterada.
+    public long perft(ChessMatch match, int depth) {
+        if (depth < 1) {
+            return 1;
+        }
+        return pool.invoke(new PerftTask(match.copy(), depth, 0));
+    }
+
+    // Total por lance da raiz, na ordem do gerador (o "divide" usado para achar onde um gerador diverge de outro)
+    public Map<Integer, Long> divide(ChessMatch match, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Profundidade do divide deve ser pelo menos 1");
+        }
+        int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+        int n = match.legalMoves(moves);
+        PerftTask[] tasks = new PerftTask[n];
+        for (int i = 0; i < n; i++) {
+            ChessMatch child = match.copy();
+            child.makeMove(moves[i]);
+            tasks[i] = new PerftTask(child, depth - 1, 1);
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            counts.put(moves[i], tasks[i].join());
+        }
+        return counts;
+    }
+
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Subárvore de uma posição; a tarefa é dona da partida e pode alterá-la livremente
+    private final class PerftTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ChessMatch match;
+        private final int depth;
+        private final int ply;
+
+        PerftTask(ChessMatch match, int depth, int ply) {
+            this.match = match;
+            this.depth = depth;
+            this.ply = ply;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth < 1) {
+                return 1L;
+            }
+            if (ply >= SPLIT_PLIES || depth < MIN_SPLIT_DEPTH) {
+                return count(depth, new int[depth][ChessMatch.MAX_LEGAL_MOVES], 0);
+            }
+            long cached = (cache != null) ? cache.probe(match.positionKey(), depth) : -1;
+            if (cached >= 0) {
+                return cached;
+            }
+            int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+            int n = match.legalMoves(moves);
+            PerftTask[] children = new PerftTask[n];
+            for (int i = 0; i < n; i++) {
+                ChessMatch child = match.copy();
+                child.makeMove(moves[i]);
+                children[i] = new PerftTask(child, depth - 1, ply + 1);
+            }
+            invokeAll(children);
+            long nodes = 0;
+            for (PerftTask child : children) {
+                nodes += child.join();
+            }
+            if (cache != null) {
+                cache.store(match.positionKey(), depth, nodes);
+            }
+            return nodes;
+        }
+
+        // Perft em série com contagem em massa no último ply; o cache só vale a consulta de profundidade 2 para cima
+        private long count(int depth, int[][] buffers, int index) {
+            int[] moves = buffers[index];
+            if (depth == 1) {
+                return match.legalMoves(moves);
+            }
+            long key = match.positionKey();
+            if (cache != null) {
+                long cached = cache.probe(key, depth);
+                if (cached >= 0) {
+                    return cached;
+                }
+            }
+            int n = match.legalMoves(moves);
+            long nodes = 0;
+            for (int i = 0; i < n; i++) {
+                match.makeMove(moves[i]);
+                nodes += count(depth - 1, buffers, index + 1);
+                match.undoMove();
+            }
+            if (cache != null) {
+                cache.store(key, depth, nodes);
+            }
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+// chess/PerftCache.java
+package chess;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Cache de subtotais do perft, indexado pela chave Zobrist da posição misturada com a profundidade restante.
+// Transposições são comuns a partir da profundidade 4 (lances em ordem trocada levam à mesma posição), e cada
+// acerto poupa a subárvore inteira. É compartilhado entre as threads sem travas, como a tabela de transposição:
+// cada entrada guarda (chave ^ total) e total, e uma escrita concorrente pela metade só faz a leitura falhar.
+public class PerftCache {
+
+    public static final int DEFAULT_MEGABYTES = 64;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long DEPTH_MIX = 0x9E3779B97F4A7C15L; // Separa a mesma posição em profundidades diferentes
+
+    private final long[] entries; // Pares (chave ^ total, total)
+    private final int mask;
+
+    // Usa até megabytes de memória (arredondado para baixo para uma potência de dois)
+    public PerftCache(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Tamanho do cache de perft deve ser de pelo menos 1 MB");
+        }
+        int size = Integer.highestOneBit((int) Math.min((long) megabytes << 16, 1 << 29)); // 16 bytes por entrada
+        entries = new long[size * 2];
+        mask = size - 1;
+    }
+
+    // Total guardado para a posição na profundidade, ou -1 se não há entrada válida
+    public long probe(long positionKey, int depth) {
+        long key = positionKey ^ (depth * DEPTH_MIX);
+        int at = index(key);
+        long check = (long) LONGS.getOpaque(entries, at);
+        long nodes = (long) LONGS.getOpaque(entries, at + 1);
+        return (nodes != 0 && (check ^ nodes) == key) ? nodes : -1;
+    }
+
+    public void store(long positionKey, int depth, long nodes) {
+        long key = positionKey ^ (depth * DEPTH_MIX);
+        int at = index(key);
+        LONGS.setOpaque(entries, at, key ^ nodes);
+        LONGS.setOpaque(entries, at + 1, nodes);
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            LONGS.setOpaque(entries, i, 0L);
+        }
+    }
+
+    private int index(long key) {
+        return ((int) (key >>> 32) & mask) * 2;
+    }
+}
@@ -0,0 +1,125 @@
+// chess/PerftPositions.java
+package chess;
+
+// Posições de teste padrão com os totais de perft conhecidos. O main confere todas até a profundidade pedida, que as
+// chaves incrementais batem com as recalculadas depois de cada lance feito e desfeito, e que fromFen recusa posições
+// inalcançáveis; é executado pelo Maven na fase verify (mvn verify), então um
+// erro no gerador de lances ou na leitura de FEN falha o build.
+public final class PerftPositions {
+
+    public static final String STARTPOS = "startpos";
+    private static final int DEFAULT_CHECK_DEPTH = 4;
+    private static final int KEY_CHECK_DEPTH = 3; // Recalcular as chaves em cada nó é caro: basta uma árvore rasa
+
+    // Nome, FEN e totais esperados por profundidade (índice 0 = profundidade 1)
+    private static final Object[][] POSITIONS = {
+        { STARTPOS, null, new long[] { 20, 400, 8902, 197281, 4865609, 119060324 } },
+        { "kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                new long[] { 48, 2039, 97862, 4085603, 193690690 } },
+        { "position3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", new long[] { 14, 191, 2812, 43238, 674624, 11030083 } },
+        { "position4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                new long[] { 6, 264, 9467, 422333, 15833292 } },
+        { "position5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", new long[] { 44, 1486, 62379, 2103487, 89941194 } },
+    };
+
+    // Posições que fromFen precisa recusar: carregá-las derruba o perft e a busca mais tarde
+    private static final String[] UNREACHABLE = {
+        "QQQQQQQQ/QQQQQQQQ/Q7/8/8/8/8/K6k w - - 0 1", // Mais de 16 peças de um lado
+        "4k2R/8/8/8/8/8/8/4K3 w - - 0 1", // O lado que não joga está em xeque
+        "k7/8/8/8/8/8/8/K6K w - - 0 1", // Dois reis brancos
+        "k7/8/8/8/8/8/8/K5P1 w - - 0 1", // Peão na primeira fileira
+        "4k3/8/8/8/8/8/8/4K3 w K - 0 1", // Roque sem rei nem torre na casa inicial
+        "4k3/8/3n4/4P3/8/8/8/4K3 w - d6 0 1", // En passant com a casa ocupada e sem o peão que avançou
+        "4k3/8/8/4P3/8/8/8/4K3 w - d6 0 1", // En passant sem o peão que avançou
+        "4k3/8/8/3pP3/8/8/8/4K3 w - d3 0 1", // En passant na fileira errada
+    };
+
+    private PerftPositions() {
+    }
+
+    public static String[] names() {
+        String[] names = new String[POSITIONS.length];
+        for (int i = 0; i < POSITIONS.length; i++) {
+            names[i] = (String) POSITIONS[i][0];
+        }
+        return names;
+    }
+
+    public static ChessMatch newMatch(String name) {
+        String fen = (String) find(name)[1];
+        return (fen == null) ? new ChessMatch() : ChessMatch.fromFen(fen);
+    }
+
+    // Total esperado, ou -1 se a profundidade não estiver na tabela
+    public static long expected(String name, int depth) {
+        long[] counts = (long[]) find(name)[2];
+        return (depth >= 1 && depth <= counts.length) ? counts[depth - 1] : -1;
+    }
+
+    // Roda o perft e lança exceção se o total divergir do conhecido
+    public static long verify(String name, int depth) {
+        long nodes = newMatch(name).perft(depth);
+        long expected = expected(name, depth);
+        if (expected >= 0 && nodes != expected) {
+            throw new IllegalStateException("Perft incorreto em " + name + " profundidade " + depth + ": " + nodes + " (esperado " + expected + ")");
+        }
+        return nodes;
+    }
+
+    // Percorre a árvore de lances legais e lança exceção se positionKey ou pawnKey divergir do valor recalculado do
+    // zero, depois de fazer ou de desfazer um lance
+    public static void verifyKeys(String name, int depth) {
+        verifyKeys(newMatch(name), depth, new int[depth][ChessMatch.MAX_LEGAL_MOVES], name);
+    }
+
+    private static void verifyKeys(ChessMatch match, int depth, int[][] buffers, String name) {
+        int[] moves = buffers[depth - 1];
+        int n = match.legalMoves(moves);
+        for (int i = 0; i < n; i++) {
+            match.makeMove(moves[i]);
+            checkKeys(match, name, moves[i], "feito");
+            if (depth > 1) {
+                verifyKeys(match, depth - 1, buffers, name);
+            }
+            match.undoMove();
+            checkKeys(match, name, moves[i], "desfeito");
+        }
+    }
+
+    private static void checkKeys(ChessMatch match, String name, int move, String when) {
+        if (!match.keysConsistent()) {
+            throw new IllegalStateException("Chave incremental incorreta em " + name + " com o lance " + Move.toString(move) + " " + when + ": " + match.toFen());
+        }
+    }
+
+    private static Object[] find(String name) {
+        for (Object[] position : POSITIONS) {
+            if (position[0].equals(name)) {
+                return position;
+            }
+        }
+        throw new IllegalArgumentException("Posição desconhecida: " + name);
+    }
+
+    // Uso: java chess.PerftPositions [profundidade]
+    // Confere todas as posições até a profundidade (padrão 4); lança exceção no primeiro total errado, o que falha a
+    // execução no Maven sem derrubar a JVM dele com System.exit
+    public static void main(String[] args) {
+        int maxDepth = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_CHECK_DEPTH;
+        for (String fen : UNREACHABLE) {
+            try {
+                ChessMatch.fromFen(fen);
+            } catch (ChessException e) {
+                continue;
+            }
+            throw new IllegalStateException("FEN inválida aceita: " + fen);
+        }
+        for (String name : names()) {
+            for (int depth = 1; depth <= maxDepth && expected(name, depth) >= 0; depth++) {
+                verify(name, depth);
+            }
+            verifyKeys(name, Math.min(maxDepth, KEY_CHECK_DEPTH));
+            System.out.println("Perft " + name + " conferido até a profundidade " + maxDepth);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+// chess/PieceIndex.java
+package chess;
+
+import chess.enums.Color;
+import chess.enums.PieceType;
+
+// Registro das peças no tabuleiro por cor e tipo, com inclusão e remoção O(1) e acesso direto ao rei de cada lado
+class PieceIndex {
+
+    private static final int MAX_PER_TYPE = 16; // Um lado nunca tem mais de 16 peças
+    private static final int TYPES = PieceType.values().length;
+
+    // Vetores planos indexados por cor * TYPES + tipo: dois objetos por índice em vez de uma matriz de matrizes,
+    // o que pesa quando milhões de posições são carregadas de FEN
+    private final ChessPiece[] slots = new ChessPiece[2 * TYPES * MAX_PER_TYPE]; // [(cor * TYPES + tipo) * 16 + i]
+    private final int[] counts = new int[2 * TYPES];
+    private final ChessPiece[] kings = new ChessPiece[2];
+
+    public void add(ChessPiece piece) {
+        int group = group(piece.getColor(), piece.getType());
+        int slot = counts[group]++;
+        slots[group * MAX_PER_TYPE + slot] = piece;
+        piece.indexSlot = slot;
+        if (piece.getType() == PieceType.KING) {
+            kings[piece.getColor().ordinal()] = piece;
+        }
+    }
+
+    // Remove trocando a peça pela última do mesmo tipo, sem deslocar as demais
+    public void remove(ChessPiece piece) {
+        int group = group(piece.getColor(), piece.getType());
+        int base = group * MAX_PER_TYPE;
+        int last = --counts[group];
+        ChessPiece moved = slots[base + last];
+        slots[base + piece.indexSlot] = moved;
+        moved.indexSlot = piece.indexSlot;
+        slots[base + last] = null;
+        if (kings[piece.getColor().ordinal()] == piece) {
+            kings[piece.getColor().ordinal()] = null;
+        }
+    }
+
+    public int count(Color color, PieceType type) {
+        return counts[group(color, type)];
+    }
+
+    public ChessPiece get(Color color, PieceType type, int i) {
+        return slots[group(color, type) * MAX_PER_TYPE + i];
+    }
+
+    public ChessPiece king(Color color) {
+        return kings[color.ordinal()];
+    }
+
+    private static int group(Color color, PieceType type) {
+        return color.ordinal() * TYPES + type.ordinal();
+    }
+}
@@ -0,0 +1,135 @@
+// chess/PieceSquareTables.java
+package chess;
+
+import chess.enums.Color;
+import chess.enums.PieceType;
+
+// Valor de cada peça em cada casa, já somando o material, para o meio-jogo e para o final. Os valores saem com
+// sinal (brancas positivas, pretas negativas) para que a ChessMatch mantenha as somas só com adições.
+// A avaliação interpola os dois conforme a fase: 24 com todas as peças menores e maiores, 0 só com reis e peões.
+public final class PieceSquareTables {
+
+    public static final int MAX_PHASE = 24;
+
+    // Indexados por PieceType.ordinal(): PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING
+    private static final int[] MG_MATERIAL = { 100, 320, 330, 500, 900, 0 };
+    private static final int[] EG_MATERIAL = { 120, 300, 320, 530, 950, 0 };
+    private static final int[] PHASE = { 0, 1, 1, 2, 4, 0 };
+
+    // Tabelas do ponto de vista das brancas, da linha 8 (primeira linha) até a linha 1, como o tabuleiro é impresso
+    private static final int[] PAWN_MG = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] PAWN_EG = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             80,  80,  80,  80,  80,  80,  80,  80,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             30,  30,  30,  30,  30,  30,  30,  30,
+             15,  15,  15,  15,  15,  15,  15,  15,
+              5,   5,   5,   5,   5,   5,   5,   5,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+    private static final int[] KING_MG = { // Rei protegido atrás dos peões, de preferência rocado
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+    private static final int[] KING_EG = { // No final o rei é uma peça de ataque: vale mais no centro
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MG_TABLES = { PAWN_MG, KNIGHT, BISHOP, ROOK, QUEEN, KING_MG };
+    private static final int[][] EG_TABLES = { PAWN_EG, KNIGHT, BISHOP, ROOK, QUEEN, KING_EG };
+
+    private static final int[][][] MG = new int[2][6][64]; // [Color.ordinal()][PieceType.ordinal()][casa a1 = 0]
+    private static final int[][][] EG = new int[2][6][64];
+
+    static {
+        for (int t = 0; t < 6; t++) {
+            for (int sq = 0; sq < 64; sq++) {
+                // Branca em sq (a1 = 0) fica na linha 7 - sq / 8 da tabela; a preta é o espelho vertical
+                int white = sq ^ 56;
+                int black = sq;
+                MG[Color.WHITE.ordinal()][t][sq] = MG_MATERIAL[t] + MG_TABLES[t][white];
+                EG[Color.WHITE.ordinal()][t][sq] = EG_MATERIAL[t] + EG_TABLES[t][white];
+                MG[Color.BLACK.ordinal()][t][sq] = -(MG_MATERIAL[t] + MG_TABLES[t][black]);
+                EG[Color.BLACK.ordinal()][t][sq] = -(EG_MATERIAL[t] + EG_TABLES[t][black]);
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    public static int midgame(ChessPiece piece, int square) {
+        return MG[piece.getColor().ordinal()][piece.getType().ordinal()][square];
+    }
+
+    public static int endgame(ChessPiece piece, int square) {
+        return EG[piece.getColor().ordinal()][piece.getType().ordinal()][square];
+    }
+
+    public static int phase(PieceType type) {
+        return PHASE[type.ordinal()];
+    }
+}
@@ -0,0 +1,21 @@
+// chess/UndoRecord.java
+package chess;
+
+// Estado necessário para desfazer exatamente um lance. Os registros são pré-alocados em uma pilha na ChessMatch
+// e reutilizados, então fazer e desfazer lances não cria objetos.
+class UndoRecord {
+
+    int move; // Lance codificado com Move
+    ChessPiece captured; // Peça capturada (ou null)
+    ChessPiece pawn; // Peão retirado do tabuleiro na promoção (ou null)
+    ChessPiece promoted; // Valor anterior de ChessMatch.promoted
+    int enPassantSquare; // Casa de en passant anterior (-1 se não havia)
+    int castlingRights; // Direitos de roque anteriores
+    int halfMoveClock; // Contador de meios-lances anterior (regra dos 50 lances)
+    boolean check; // Estado de xeque anterior
+    long key; // Chave Zobrist anterior
+    long pawnKey; // Chave dos peões anterior
+    int midgameScore; // Somas da avaliação e fase anteriores
+    int endgameScore;
+    int phase;
+}
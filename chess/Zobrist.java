@@ -0,0 +1,82 @@
+// chess/Zobrist.java
+package chess;
+
+import chess.enums.Color;
+import chess.enums.PieceType;
+
+// Números aleatórios de 64 bits para a chave Zobrist de uma posição: a chave é o XOR dos números de cada
+// (cor, tipo, casa) ocupada, do lado a jogar, dos direitos de roque e da coluna de en passant.
+// A semente é fixa para que a mesma posição tenha sempre a mesma chave entre execuções.
+public final class Zobrist {
+
+    private static final long[][][] PIECES = new long[2][6][64]; // [Color.ordinal()][PieceType.ordinal()][casa]
+    private static final long[] CASTLING = new long[16]; // Indexado pela máscara de direitos de roque
+    private static final long[] EN_PASSANT = new long[8]; // Indexado pela coluna
+    private static final long SIDE; // Ligado quando as pretas jogam
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int c = 0; c < 2; c++) {
+            for (int t = 0; t < 6; t++) {
+                for (int sq = 0; sq < 64; sq++) {
+                    seed = next(seed);
+                    PIECES[c][t][sq] = mix(seed);
+                }
+            }
+        }
+        // Cada direito de roque tem seu número; as combinações são o XOR dos direitos presentes
+        long[] rights = new long[4];
+        for (int i = 0; i < 4; i++) {
+            seed = next(seed);
+            rights[i] = mix(seed);
+        }
+        for (int mask = 0; mask < 16; mask++) {
+            for (int i = 0; i < 4; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    CASTLING[mask] ^= rights[i];
+                }
+            }
+        }
+        for (int file = 0; file < 8; file++) {
+            seed = next(seed);
+            EN_PASSANT[file] = mix(seed);
+        }
+        seed = next(seed);
+        SIDE = mix(seed);
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(Color color, PieceType type, int square) {
+        return PIECES[color.ordinal()][type.ordinal()][square];
+    }
+
+    public static long piece(ChessPiece piece, int square) {
+        return PIECES[piece.getColor().ordinal()][piece.getType().ordinal()][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    // Casa de en passant (a1 = 0, h8 = 63); só a coluna entra na chave
+    public static long enPassant(int square) {
+        return EN_PASSANT[square & 7];
+    }
+
+    public static long side() {
+        return SIDE;
+    }
+
+    // splitmix64: sequência de Weyl + finalizador, bem distribuído e sem estado global
+    private static long next(long seed) {
+        return seed + 0x9E3779B97F4A7C15L;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
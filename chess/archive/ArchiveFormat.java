@@ -0,0 +1,46 @@
+// chess/archive/ArchiveFormat.java
+package chess.archive;
+
+import java.util.Arrays;
+
+import chess.ChessMatch;
+
+// Formato binário do arquivo de partidas:
+//   cabeçalho:  "XADZ", versão (2 bytes), 2 bytes reservados
+//   partidas:   uma após a outra, cada uma com
+//                 quantidade de tags (varint) e, para cada tag, nome e valor (varint com o tamanho + UTF-8)
+//                 resultado (1 byte: 0 = "*", 1 = "1-0", 2 = "0-1", 3 = "1/2-1/2")
+//                 quantidade de lances (varint) e um byte por lance
+//   índice:     posição de cada partida no arquivo (8 bytes cada)
+//   rodapé:     posição do índice (8 bytes), quantidade de partidas (8 bytes), "XADZ"
+// Cada lance é gravado como a sua posição na lista de lances legais ordenada (os códigos de Move em ordem
+// crescente): nenhuma posição tem mais de 218 lances legais, então um byte basta, e a lista ordenada é a mesma
+// em qualquer versão do gerador. A posição inicial é a padrão, ou a da tag FEN. Inteiros em big-endian.
+final class ArchiveFormat {
+
+    static final int MAGIC = ('X' << 24) | ('A' << 16) | ('D' << 8) | 'Z';
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 20;
+
+    static final String[] RESULTS = { "*", "1-0", "0-1", "1/2-1/2" };
+
+    private ArchiveFormat() {
+    }
+
+    static int resultCode(String result) {
+        for (int i = 1; i < RESULTS.length; i++) {
+            if (RESULTS[i].equals(result)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    // Lances legais da posição em ordem crescente de código; devolve quantos são
+    static int sortedLegalMoves(ChessMatch match, int[] moves) {
+        int n = match.legalMoves(moves);
+        Arrays.sort(moves, 0, n);
+        return n;
+    }
+}
@@ -0,0 +1,46 @@
+// chess/archive/ArchivedGame.java
+package chess.archive;
+
+import java.util.Map;
+
+// Partida lida do arquivo binário: tags, resultado e os lances já decodificados (códigos de Move)
+public class ArchivedGame {
+
+    private final long number;
+    private final Map<String, String> tags;
+    private final String result;
+    private final int[] moves;
+
+    public ArchivedGame(long number, Map<String, String> tags, String result, int[] moves) {
+        this.number = number;
+        this.tags = tags;
+        this.result = result;
+        this.moves = moves;
+    }
+
+    // Posição da partida no arquivo, a partir de 0
+    public long getNumber() {
+        return number;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public int[] getMoves() {
+        return moves;
+    }
+
+    // Posição inicial em FEN, ou null se a partida começa da posição inicial padrão
+    public String getFen() {
+        return tags.get("FEN");
+    }
+}
@@ -0,0 +1,170 @@
+// chess/archive/GameArchive.java
+package chess.archive;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import chess.ChessMatch;
+
+// Leitura do arquivo binário de partidas (ver ArchiveFormat), mapeado em memória: abrir só lê o rodapé, e qualquer
+// partida é acessada direto pela posição no índice, sem ler as anteriores. As leituras são absolutas, então o
+// mesmo arquivo pode ser lido por várias threads.
+public class GameArchive {
+
+    private static final int CHUNK_SHIFT = 30; // Mapeado em blocos de 1 GB (limite de um MappedByteBuffer: 2 GB)
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final MappedByteBuffer[] chunks;
+    private final long indexOffset;
+    private final long games;
+
+    private GameArchive(MappedByteBuffer[] chunks, long size) throws IOException {
+        this.chunks = chunks;
+        if (size < ArchiveFormat.HEADER_BYTES + ArchiveFormat.TRAILER_BYTES || readInt(0) != ArchiveFormat.MAGIC
+                || readInt(size - 4) != ArchiveFormat.MAGIC) {
+            throw new IOException("Arquivo de partidas inválido");
+        }
+        if (((readInt(4) >>> 16) & 0xFFFF) != ArchiveFormat.VERSION) {
+            throw new IOException("Versão do arquivo de partidas não suportada: " + (readInt(4) >>> 16));
+        }
+        indexOffset = readLong(size - ArchiveFormat.TRAILER_BYTES);
+        games = readLong(size - ArchiveFormat.TRAILER_BYTES + 8);
+        if (indexOffset + games * 8 != size - ArchiveFormat.TRAILER_BYTES) {
+            throw new IOException("Índice do arquivo de partidas corrompido");
+        }
+    }
+
+    public static GameArchive open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunkCount = (int) Math.max(1, (size + CHUNK_MASK) >>> CHUNK_SHIFT);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << CHUNK_SHIFT, size - start));
+            }
+            return new GameArchive(chunks, size);
+        }
+    }
+
+    // Quantidade de partidas
+    public long size() {
+        return games;
+    }
+
+    // Lê a partida, decodificando os lances (o que exige reproduzi-la)
+    public ArchivedGame read(long number) {
+        Cursor cursor = new Cursor(offset(number));
+        Map<String, String> tags = readTags(cursor);
+        String result = ArchiveFormat.RESULTS[cursor.next() & 3];
+        int count = cursor.varint();
+        int[] moves = new int[count];
+        ChessMatch match = startPosition(tags);
+        int[] legal = new int[ChessMatch.MAX_LEGAL_MOVES];
+        for (int i = 0; i < count; i++) {
+            moves[i] = decode(match, legal, cursor.next(), number, i);
+            match.makeMove(moves[i]);
+        }
+        return new ArchivedGame(number, tags, result, moves);
+    }
+
+    // Reproduz a partida numa ChessMatch com performChessMove, que mantém xeque, xeque-mate e peças capturadas,
+    // e devolve a partida na posição final
+    public ChessMatch replay(long number) {
+        Cursor cursor = new Cursor(offset(number));
+        Map<String, String> tags = readTags(cursor);
+        cursor.next(); // Resultado
+        int count = cursor.varint();
+        ChessMatch match = startPosition(tags);
+        int[] legal = new int[ChessMatch.MAX_LEGAL_MOVES];
+        for (int i = 0; i < count; i++) {
+            match.performChessMove(decode(match, legal, cursor.next(), number, i));
+        }
+        return match;
+    }
+
+    // Lance gravado como índice na lista ordenada de lances legais. Um índice fora da lista só aparece num arquivo
+    // corrompido ou truncado, e usá-lo faria um lance de outra posição.
+    private static int decode(ChessMatch match, int[] legal, int index, long number, int ply) {
+        int n = ArchiveFormat.sortedLegalMoves(match, legal);
+        if (index >= n) {
+            throw new IllegalStateException("Arquivo de partidas corrompido: partida " + number + ", meio-lance " + ply
+                    + " tem o índice " + index + ", mas a posição só tem " + n + " lances legais");
+        }
+        return legal[index];
+    }
+
+    private long offset(long number) {
+        if (number < 0 || number >= games) {
+            throw new IndexOutOfBoundsException("Partida " + number + " não existe (o arquivo tem " + games + ")");
+        }
+        return readLong(indexOffset + number * 8);
+    }
+
+    private static ChessMatch startPosition(Map<String, String> tags) {
+        String fen = tags.get("FEN");
+        return (fen != null) ? ChessMatch.fromFen(fen) : new ChessMatch();
+    }
+
+    private Map<String, String> readTags(Cursor cursor) {
+        int count = cursor.varint();
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = cursor.string();
+            tags.put(name, cursor.string());
+        }
+        return tags;
+    }
+
+    private int get(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].get((int) (position & CHUNK_MASK)) & 0xFF;
+    }
+
+    private int readInt(long position) {
+        return (get(position) << 24) | (get(position + 1) << 16) | (get(position + 2) << 8) | get(position + 3);
+    }
+
+    private long readLong(long position) {
+        return ((long) readInt(position) << 32) | (readInt(position + 4) & 0xFFFFFFFFL);
+    }
+
+    // Posição de leitura dentro de uma partida
+    private final class Cursor {
+
+        private long position;
+
+        Cursor(long position) {
+            this.position = position;
+        }
+
+        int next() {
+            return get(position++);
+        }
+
+        int varint() {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = next();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        String string() {
+            byte[] bytes = new byte[varint()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) next();
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
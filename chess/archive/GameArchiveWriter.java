@@ -0,0 +1,125 @@
+// chess/archive/GameArchiveWriter.java
+package chess.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import chess.ChessMatch;
+import chess.Move;
+
+// Grava partidas no formato binário descrito em ArchiveFormat. As partidas são gravadas à medida que chegam; o
+// índice de posições fica em memória (8 bytes por partida) e vai para o fim do arquivo no close.
+public class GameArchiveWriter implements Closeable {
+
+    private final OutputStream out;
+    private final int[] legal = new int[ChessMatch.MAX_LEGAL_MOVES];
+    private byte[] encoded = new byte[256]; // Lances da partida atual, antes de gravar
+    private long[] offsets = new long[1024];
+    private long games;
+    private long position; // Bytes gravados até agora
+
+    public GameArchiveWriter(Path path) throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16);
+        writeInt(ArchiveFormat.MAGIC);
+        writeShort(ArchiveFormat.VERSION);
+        writeShort(0);
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    // Grava uma partida a partir da posição inicial padrão (ou da tag FEN). Lança IllegalArgumentException, sem
+    // gravar nada, se algum lance não for legal na sua posição.
+    public void add(Map<String, String> tags, String result, int[] moves, int count) throws IOException {
+        String fen = tags.get("FEN");
+        ChessMatch match = (fen != null) ? ChessMatch.fromFen(fen) : new ChessMatch();
+        if (encoded.length < count) {
+            encoded = new byte[Math.max(count, encoded.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            int n = ArchiveFormat.sortedLegalMoves(match, legal);
+            int index = Arrays.binarySearch(legal, 0, n, moves[i]);
+            if (index < 0) {
+                throw new IllegalArgumentException("Lance ilegal na partida: " + Move.toString(moves[i]));
+            }
+            encoded[i] = (byte) index;
+            match.makeMove(moves[i]);
+        }
+        addEncoded(tags, result, encoded, count);
+    }
+
+    // Grava uma partida cujos lances já estão codificados como índices (ver ArchiveFormat), sem reproduzi-la: para
+    // quem já reproduziu a partida por outro motivo, como o PgnConverter
+    void addEncoded(Map<String, String> tags, String result, byte[] encoded, int count) throws IOException {
+        if (games == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[(int) games++] = position;
+        writeVarint(tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            writeString(tag.getKey());
+            writeString(tag.getValue());
+        }
+        writeByte(ArchiveFormat.resultCode(result));
+        writeVarint(count);
+        out.write(encoded, 0, count);
+        position += count;
+    }
+
+    // Grava o índice e o rodapé; o arquivo só pode ser lido depois disso
+    @Override
+    public void close() throws IOException {
+        long indexOffset = position;
+        for (int i = 0; i < games; i++) {
+            writeLong(offsets[i]);
+        }
+        writeLong(indexOffset);
+        writeLong(games);
+        writeInt(ArchiveFormat.MAGIC);
+        out.close();
+    }
+
+    private void writeString(String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    // Inteiro sem sinal em 7 bits por byte, o bit alto indica que há mais bytes
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeByte(int b) throws IOException {
+        out.write(b);
+        position++;
+    }
+
+    private void writeShort(int value) throws IOException {
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeInt(int value) throws IOException {
+        writeShort(value >>> 16);
+        writeShort(value);
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+}
@@ -0,0 +1,92 @@
+// chess/archive/PgnConverter.java
+package chess.archive;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Move;
+import chess.pgn.PgnError;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import chess.pgn.San;
+
+// Converte PGN para o arquivo binário: cada partida é reproduzida uma única vez, resolvendo o SAN na posição atual e
+// já codificando o lance como índice na lista ordenada de lances legais, que vai pronto para o GameArchiveWriter.
+// Partidas com lance ilegal, ambíguo ou malformado não são gravadas e vão para o canal de erros, como no PgnReplay.
+public class PgnConverter {
+
+    private final GameArchiveWriter writer;
+    private final Consumer<PgnError> errors;
+    private final int[] buffer = new int[ChessMatch.MAX_LEGAL_MOVES];
+    private final int[] legal = new int[ChessMatch.MAX_LEGAL_MOVES];
+    private byte[] encoded = new byte[256];
+    private long games;
+    private long plies;
+    private long failed;
+
+    public PgnConverter(GameArchiveWriter writer, Consumer<PgnError> errors) {
+        this.writer = writer;
+        this.errors = errors;
+    }
+
+    // Converte todas as partidas do leitor. Não fecha o leitor nem o writer.
+    public void convert(PgnReader reader) throws IOException {
+        PgnGame game;
+        while ((game = reader.next()) != null) {
+            convert(game);
+        }
+    }
+
+    // Grava a partida e devolve true, ou devolve false se ela foi rejeitada
+    public boolean convert(PgnGame game) throws IOException {
+        ChessMatch match;
+        try {
+            match = (game.getFen() != null) ? ChessMatch.fromFen(game.getFen()) : new ChessMatch();
+        } catch (ChessException e) {
+            return fail(game, -1, null, e.getMessage());
+        }
+
+        String[] sans = game.getMoves();
+        if (encoded.length < sans.length) {
+            encoded = new byte[Math.max(sans.length, encoded.length * 2)];
+        }
+        for (int ply = 0; ply < sans.length; ply++) {
+            int move = San.parse(match, sans[ply], buffer);
+            if (move == Move.NONE) { // Inclui lances depois do xeque-mate, quando não há lances legais
+                return fail(game, ply, sans[ply], "lance ilegal, ambíguo ou malformado");
+            }
+            // A posição na lista ordenada é calculada já nesta reprodução, e o writer não precisa refazer a partida
+            int n = ArchiveFormat.sortedLegalMoves(match, legal);
+            encoded[ply] = (byte) Arrays.binarySearch(legal, 0, n, move);
+            match.makeMove(move);
+        }
+        writer.addEncoded(game.getTags(), game.getResult(), encoded, sans.length);
+        games++;
+        plies += sans.length;
+        return true;
+    }
+
+    // Partidas gravadas
+    public long getGames() {
+        return games;
+    }
+
+    // Lances gravados
+    public long getMoves() {
+        return plies;
+    }
+
+    // Partidas rejeitadas
+    public long getErrors() {
+        return failed;
+    }
+
+    private boolean fail(PgnGame game, int ply, String san, String message) {
+        failed++;
+        errors.accept(new PgnError(game, ply, san, message));
+        return false;
+    }
+}
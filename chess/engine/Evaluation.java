@@ -0,0 +1,36 @@
+// chess/engine/Evaluation.java
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.PieceSquareTables;
+import chess.enums.Color;
+
+// Avaliação estática da posição em centipeões, do ponto de vista do jogador da vez
+public final class Evaluation {
+
+    // Valor de cada tipo de peça, indexado por PieceType.ordinal() (usado na ordenação de capturas)
+    public static final int[] PIECE_VALUES = { 100, 320, 330, 500, 900, 0 };
+
+    private Evaluation() {
+    }
+
+    // Avaliação sem cache: a estrutura de peões é calculada na hora
+    public static int evaluate(ChessMatch match) {
+        return evaluate(match, PawnStructure.evaluate(match));
+    }
+
+    // O(1) nas folhas: as somas de material e tabelas de casas são mantidas pela ChessMatch a cada lance, e a
+    // estrutura de peões quase sempre vem do cache
+    public static int evaluate(ChessMatch match, PawnHashTable pawns) {
+        return evaluate(match, pawns.probe(match));
+    }
+
+    // Interpola meio-jogo e final pela fase (quantidade de peças que não são peões)
+    private static int evaluate(ChessMatch match, long pawnScore) {
+        int phase = Math.min(match.getPhase(), PieceSquareTables.MAX_PHASE);
+        int midgame = match.getMidgameScore() + PawnStructure.midgame(pawnScore);
+        int endgame = match.getEndgameScore() + PawnStructure.endgame(pawnScore);
+        int score = (midgame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+        return (match.getCurrentPlayer() == Color.WHITE) ? score : -score;
+    }
+}
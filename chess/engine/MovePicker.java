@@ -0,0 +1,203 @@
+// chess/engine/MovePicker.java
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Move;
+import chess.enums.PieceType;
+
+// Entrega os lances de um nó em etapas, na ordem em que costumam causar cortes: lance da tabela de transposição,
+// capturas boas (vítima mais valiosa, atacante menos valioso), killers, lances tranquilos pelo histórico e,
+// por último, capturas ruins (troca estática negativa). Cada etapa só é gerada quando a anterior se esgota, então um
+// corte cedo evita gerar e ordenar o resto. Na quiescência só entram as capturas boas. Há um MovePicker por ply,
+// reutilizado: não cria objetos.
+final class MovePicker {
+
+    private static final int STAGE_HASH = 0;
+    private static final int STAGE_GENERATE_CAPTURES = 1;
+    private static final int STAGE_GOOD_CAPTURES = 2;
+    private static final int STAGE_KILLER_1 = 3;
+    private static final int STAGE_KILLER_2 = 4;
+    private static final int STAGE_GENERATE_QUIETS = 5;
+    private static final int STAGE_QUIETS = 6;
+    private static final int STAGE_BAD_CAPTURES = 7;
+    private static final int STAGE_DONE = 8;
+
+    private final int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+    private final int[] scores = new int[ChessMatch.MAX_LEGAL_MOVES];
+    private final int[] badCaptures = new int[ChessMatch.MAX_LEGAL_MOVES];
+
+    private ChessMatch match;
+    private int[][] history;
+    private int stage;
+    private int hashMove;
+    private int killer1;
+    private int killer2;
+    private int size;
+    private int index;
+    private int badSize;
+    private int badIndex;
+    private boolean quiescence;
+
+    // Prepara o nó. history é indexado por [origem][destino] e pertence ao lado a jogar.
+    void init(ChessMatch match, int hashMove, int killer1, int killer2, int[][] history) {
+        this.match = match;
+        this.hashMove = hashMove;
+        this.killer1 = killer1;
+        this.killer2 = killer2;
+        this.history = history;
+        quiescence = false;
+        stage = STAGE_HASH;
+        size = 0;
+        index = 0;
+        badSize = 0;
+        badIndex = 0;
+    }
+
+    // Prepara um nó da quiescência: só capturas e promoções que não perdem material pela troca estática
+    void initQuiescence(ChessMatch match) {
+        init(match, Move.NONE, Move.NONE, Move.NONE, null);
+        quiescence = true;
+        stage = STAGE_GENERATE_CAPTURES;
+    }
+
+    // Próximo lance legal, ou Move.NONE quando acabaram
+    int next() {
+        while (true) {
+            switch (stage) {
+                case STAGE_HASH:
+                    stage = STAGE_GENERATE_CAPTURES;
+                    if (match.isLegal(hashMove)) {
+                        return hashMove;
+                    }
+                    hashMove = Move.NONE; // Colisão de chave na tabela: o lance não vale nesta posição
+                    break;
+
+                case STAGE_GENERATE_CAPTURES:
+                    size = match.legalCaptures(moves);
+                    index = 0;
+                    scoreCaptures();
+                    stage = STAGE_GOOD_CAPTURES;
+                    break;
+
+                case STAGE_GOOD_CAPTURES:
+                    while (index < size) {
+                        int move = pickBest();
+                        if (move == hashMove) {
+                            continue;
+                        }
+                        if (isBadCapture(move)) {
+                            if (!quiescence) {
+                                badCaptures[badSize++] = move; // Fica para o fim
+                            }
+                            continue; // Na quiescência, a captura perdedora é descartada sem busca
+                        }
+                        return move;
+                    }
+                    stage = quiescence ? STAGE_DONE : STAGE_KILLER_1;
+                    break;
+
+                case STAGE_KILLER_1:
+                    stage = STAGE_KILLER_2;
+                    if (isUsableKiller(killer1)) {
+                        return killer1;
+                    }
+                    killer1 = Move.NONE;
+                    break;
+
+                case STAGE_KILLER_2:
+                    stage = STAGE_GENERATE_QUIETS;
+                    if (killer2 != killer1 && isUsableKiller(killer2)) {
+                        return killer2;
+                    }
+                    killer2 = Move.NONE;
+                    break;
+
+                case STAGE_GENERATE_QUIETS:
+                    size = match.legalQuiets(moves);
+                    index = 0;
+                    for (int i = 0; i < size; i++) {
+                        scores[i] = history[Move.from(moves[i])][Move.to(moves[i])];
+                    }
+                    stage = STAGE_QUIETS;
+                    break;
+
+                case STAGE_QUIETS:
+                    while (index < size) {
+                        int move = pickBest();
+                        if (move != hashMove && move != killer1 && move != killer2) {
+                            return move;
+                        }
+                    }
+                    stage = STAGE_BAD_CAPTURES;
+                    break;
+
+                case STAGE_BAD_CAPTURES:
+                    if (badIndex < badSize) {
+                        return badCaptures[badIndex++]; // Já estão em ordem de MVV-LVA
+                    }
+                    stage = STAGE_DONE;
+                    break;
+
+                default:
+                    return Move.NONE;
+            }
+        }
+    }
+
+    // Killer: lance tranquilo que cortou em outro nó do mesmo ply; precisa ser legal aqui
+    private boolean isUsableKiller(int killer) {
+        return killer != Move.NONE && killer != hashMove && !match.isTactical(killer) && match.isLegal(killer);
+    }
+
+    // MVV-LVA: primeiro a vítima mais valiosa, depois o atacante menos valioso; promoções pelo valor da peça nova
+    private void scoreCaptures() {
+        for (int i = 0; i < size; i++) {
+            int move = moves[i];
+            ChessPiece victim = match.pieceAt(Move.to(move));
+            int victimValue = (victim != null) ? Evaluation.PIECE_VALUES[victim.getType().ordinal()]
+                    : (Move.flag(move) == Move.EN_PASSANT) ? Evaluation.PIECE_VALUES[PieceType.PAWN.ordinal()] : 0;
+            int attacker = match.pieceAt(Move.from(move)).getType().ordinal();
+            int score = victimValue * 8 - attacker;
+            if (Move.isPromotion(move)) {
+                score += Evaluation.PIECE_VALUES[Move.promotionType(move).ordinal()] * 8;
+            }
+            scores[i] = score;
+        }
+    }
+
+    // Captura que perde material pela troca estática; promoções a peças menores que a Rainha também vão para o fim.
+    // Quando a vítima vale pelo menos o atacante a troca não pode ser negativa, e a SEE nem é calculada.
+    private boolean isBadCapture(int move) {
+        if (Move.isPromotion(move)) {
+            return Move.promotionType(move) != PieceType.QUEEN;
+        }
+        ChessPiece victim = match.pieceAt(Move.to(move));
+        if (victim == null) {
+            return false; // En passant: peão por peão
+        }
+        ChessPiece attacker = match.pieceAt(Move.from(move));
+        if (Evaluation.PIECE_VALUES[victim.getType().ordinal()] >= Evaluation.PIECE_VALUES[attacker.getType().ordinal()]) {
+            return false;
+        }
+        return match.staticExchange(move) < 0;
+    }
+
+    // Seleção parcial: traz para index o lance de maior nota do que sobrou e avança
+    private int pickBest() {
+        int best = index;
+        for (int j = index + 1; j < size; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        int move = moves[best];
+        moves[best] = moves[index];
+        moves[index] = move;
+        int score = scores[best];
+        scores[best] = scores[index];
+        scores[index] = score;
+        index++;
+        return move;
+    }
+}
@@ -0,0 +1,171 @@
+// chess/engine/OpeningBook.java
+package chess.engine;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import chess.ChessMatch;
+import chess.Move;
+import chess.enums.PieceType;
+
+// Livro de aberturas lido direto de um arquivo mapeado em memória (FileChannel.map): nada é copiado para o heap,
+// abrir um livro de centenas de megabytes é só criar o mapeamento, e processos que abrem o mesmo arquivo dividem
+// as páginas pelo cache do sistema operacional. O layout é o do Polyglot: entradas de 16 bytes big-endian
+// (chave de 64 bits, lance de 16 bits, peso de 16 bits, 32 bits de aprendizado), ordenadas pela chave sem sinal.
+// A chave é a ChessMatch.positionKey(), e não a chave Zobrist do Polyglot: os livros são gerados pelo
+// OpeningBookWriter, e um livro Polyglot de terceiros abre sem erro mas não encontra as posições.
+// As leituras são absolutas (não mexem na posição do buffer), então o mesmo livro pode ser consultado por várias threads.
+public class OpeningBook {
+
+    static final int ENTRY_BYTES = 16;
+    private static final int CHUNK_SHIFT = 30; // Um MappedByteBuffer vai até 2 GB: o arquivo é mapeado em blocos de 1 GB
+    private static final int CHUNK_ENTRY_SHIFT = CHUNK_SHIFT - 4;
+    private static final long CHUNK_ENTRY_MASK = (1L << CHUNK_ENTRY_SHIFT) - 1;
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private OpeningBook(MappedByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % ENTRY_BYTES != 0) {
+                throw new IOException("Arquivo de livro de aberturas com tamanho inválido: " + path);
+            }
+            int chunkCount = (int) ((bytes + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << CHUNK_SHIFT, bytes - start));
+            }
+            return new OpeningBook(chunks, bytes / ENTRY_BYTES); // O mapeamento continua válido depois de fechar o canal
+        }
+    }
+
+    // Quantidade de entradas
+    public long size() {
+        return size;
+    }
+
+    // Lances do livro para a posição, com os pesos; devolve quantos foram escritos. Entradas que não correspondem a
+    // um lance legal (colisão de chave ou livro de outra versão) são ignoradas.
+    public int moves(ChessMatch match, int[] moves, int[] weights) {
+        long key = match.positionKey();
+        int[] legal = null;
+        int legalCount = 0;
+        int count = 0;
+        for (long i = lowerBound(key); i < size && key(i) == key; i++) {
+            if (legal == null) { // Só gera os lances quando a posição está no livro
+                legal = new int[ChessMatch.MAX_LEGAL_MOVES];
+                legalCount = match.legalMoves(legal);
+            }
+            int move = decode(rawMove(i), legal, legalCount);
+            if (move != Move.NONE && count < moves.length) {
+                moves[count] = move;
+                weights[count] = weight(i);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Lance de maior peso, ou Move.NONE se a posição não está no livro
+    public int bestMove(ChessMatch match) {
+        int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+        int[] weights = new int[ChessMatch.MAX_LEGAL_MOVES];
+        int n = moves(match, moves, weights);
+        int best = Move.NONE;
+        int bestWeight = -1;
+        for (int i = 0; i < n; i++) {
+            if (weights[i] > bestWeight) {
+                bestWeight = weights[i];
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    // Sorteia um lance com probabilidade proporcional ao peso, para variar as aberturas
+    public int randomMove(ChessMatch match, Random random) {
+        int[] moves = new int[ChessMatch.MAX_LEGAL_MOVES];
+        int[] weights = new int[ChessMatch.MAX_LEGAL_MOVES];
+        int n = moves(match, moves, weights);
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            total += weights[i];
+        }
+        if (total == 0) {
+            return (n > 0) ? moves[random.nextInt(n)] : Move.NONE;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < n; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    // Primeira entrada com chave >= key (comparação sem sinal, como a ordenação do arquivo)
+    private long lowerBound(long key) {
+        long low = 0;
+        long high = size;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(key(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long key(long index) {
+        return chunks[(int) (index >>> CHUNK_ENTRY_SHIFT)].getLong(offset(index));
+    }
+
+    private int rawMove(long index) {
+        return chunks[(int) (index >>> CHUNK_ENTRY_SHIFT)].getShort(offset(index) + 8) & 0xFFFF;
+    }
+
+    private int weight(long index) {
+        return chunks[(int) (index >>> CHUNK_ENTRY_SHIFT)].getShort(offset(index) + 10) & 0xFFFF;
+    }
+
+    private static int offset(long index) {
+        return (int) (index & CHUNK_ENTRY_MASK) * ENTRY_BYTES;
+    }
+
+    // Lance no formato Polyglot: destino nos bits 0-5, origem nos 6-11 (casa a1 = 0, como aqui) e peça da promoção
+    // nos 12-14 (1 = Cavalo ... 4 = Rainha, a mesma ordem de PieceType). O roque é gravado como o rei "capturando"
+    // a própria Torre (e1h1, e1a1).
+    static int encode(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if (Move.flag(move) == Move.CASTLING) {
+            to = (to > from) ? to + 1 : to - 2;
+        }
+        PieceType promotion = Move.promotionType(move);
+        return to | (from << 6) | (((promotion != null) ? promotion.ordinal() : 0) << 12);
+    }
+
+    // Lance legal correspondente ao lance Polyglot, ou Move.NONE
+    private static int decode(int raw, int[] legal, int count) {
+        for (int i = 0; i < count; i++) {
+            if (encode(legal[i]) == raw) {
+                return legal[i];
+            }
+        }
+        return Move.NONE;
+    }
+}
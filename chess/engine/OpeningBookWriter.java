@@ -0,0 +1,70 @@
+// chess/engine/OpeningBookWriter.java
+package chess.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import chess.ChessMatch;
+import chess.Move;
+
+// Monta um livro de aberturas no formato lido pelo OpeningBook: acumula (posição, lance, peso) em memória, somando
+// os pesos de lances repetidos, e grava as entradas ordenadas pela chave sem sinal.
+public class OpeningBookWriter {
+
+    private static final int MAX_WEIGHT = 0xFFFF;
+
+    private final Map<Long, Map<Integer, Integer>> positions = new HashMap<>(); // Chave -> lance Polyglot -> peso
+
+    // Soma weight ao lance na posição atual da partida
+    public void add(ChessMatch match, int move, int weight) {
+        if (!match.isLegal(move)) {
+            throw new IllegalArgumentException("Lance ilegal para o livro de aberturas: " + Move.toString(move));
+        }
+        positions.computeIfAbsent(match.positionKey(), key -> new HashMap<>())
+                .merge(OpeningBook.encode(move), weight, (a, b) -> Math.min(MAX_WEIGHT, a + b));
+    }
+
+    // Registra os primeiros maxPlies lances de uma partida que começa na posição inicial
+    public void addGame(int[] moves, int count, int maxPlies, int weight) {
+        ChessMatch match = new ChessMatch();
+        for (int i = 0; i < Math.min(count, maxPlies); i++) {
+            add(match, moves[i], weight);
+            match.makeMove(moves[i]);
+        }
+    }
+
+    // Quantidade de entradas (pares posição e lance)
+    public int size() {
+        int size = 0;
+        for (Map<Integer, Integer> moves : positions.values()) {
+            size += moves.size();
+        }
+        return size;
+    }
+
+    public void write(Path path) throws IOException {
+        List<long[]> entries = new ArrayList<>(size()); // { chave, lance, peso }
+        for (Map.Entry<Long, Map<Integer, Integer>> position : positions.entrySet()) {
+            for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                entries.add(new long[] { position.getKey(), move.getKey(), move.getValue() });
+            }
+        }
+        entries.sort((a, b) -> (a[0] != b[0]) ? Long.compareUnsigned(a[0], b[0]) : Long.compare(b[2], a[2]));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            for (long[] entry : entries) {
+                out.writeLong(entry[0]); // DataOutputStream é big-endian, como o Polyglot
+                out.writeShort((int) entry[1]);
+                out.writeShort((int) entry[2]);
+                out.writeInt(0); // Aprendizado: não usado
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+// chess/engine/ParallelSearch.java
+package chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import chess.ChessMatch;
+import chess.Move;
+
+// Busca paralela "Lazy SMP": a thread que chama search faz a busca normal na partida original, e as threads
+// auxiliares buscam a mesma posição, cada uma na sua cópia da partida, começando em profundidades alternadas.
+// Elas não se comunicam diretamente: só compartilham a tabela de transposição sem travas, e os resultados que uma
+// grava encurtam a busca das outras. No fim fica o resultado da busca que chegou mais fundo.
+public class ParallelSearch {
+
+    private final ChessMatch match;
+    private final TranspositionTable table;
+    private final int threads;
+    private final ExecutorService helpers; // threads - 1 auxiliares (null se threads == 1)
+    // Uma busca por thread, criadas uma vez: histórico, killers, seletores e cache de peões passam de um lance para o
+    // outro. A primeira busca usa a partida original; as auxiliares recebem uma cópia nova a cada search.
+    private final Search[] searches;
+    private volatile Search[] running = new Search[0]; // Buscas em andamento, para stop()
+    private volatile boolean stopRequested;
+
+    public ParallelSearch(ChessMatch match, int threads) {
+        this(match, threads, new TranspositionTable(Search.DEFAULT_HASH_MB));
+    }
+
+    public ParallelSearch(ChessMatch match, int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser pelo menos 1");
+        }
+        this.match = match;
+        this.table = table;
+        this.threads = threads;
+        this.helpers = (threads > 1) ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true); // Não impede o programa de terminar
+            return thread;
+        }) : null;
+        searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(match, table);
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public SearchResult search(int maxDepth, long timeLimitMillis) {
+        return search(SearchLimits.depth(maxDepth).withTimeLimit(timeLimitMillis));
+    }
+
+    // Mesmo contrato de Search.search: a partida volta ao estado original no fim. O orçamento de nós é dividido
+    // entre as threads; os prazos valem para todas, e a busca principal decide quando parar.
+    public SearchResult search(SearchLimits limits) {
+        long start = System.nanoTime();
+        SearchLimits threadLimits = limits.perThread(threads);
+        table.newSearch();
+        stopRequested = false;
+
+        searches[0].prepare(match);
+        for (int i = 1; i < threads; i++) {
+            searches[i].prepare(match.copy()); // Cópias feitas nesta thread, antes de a busca mexer na partida
+        }
+        running = searches;
+
+        List<Future<SearchResult>> futures = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            Search helper = searches[i];
+            int firstDepth = 1 + (i & 1); // Metade das auxiliares fica uma profundidade à frente
+            futures.add(helpers.submit(() -> helper.iterate(threadLimits, firstDepth)));
+        }
+        if (stopRequested) { // stop() chegou antes de as buscas existirem
+            stop();
+        }
+
+        SearchResult best = searches[0].iterate(threadLimits, 1);
+        for (int i = 1; i < threads; i++) {
+            searches[i].stop(); // A busca principal terminou: as auxiliares param também
+        }
+
+        long nodes = best.getNodes();
+        for (Future<SearchResult> future : futures) {
+            SearchResult result = join(future);
+            nodes += result.getNodes();
+            if (result.getBestMove() != Move.NONE && result.getDepth() > best.getDepth()) {
+                best = result;
+            }
+        }
+        running = new Search[0];
+        long elapsed = (System.nanoTime() - start) / 1_000_000L;
+        return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes, elapsed);
+    }
+
+    // Pede para todas as buscas em andamento pararem (pode ser chamado de outra thread)
+    public void stop() {
+        stopRequested = true;
+        for (Search search : running) {
+            search.stop();
+        }
+    }
+
+    // Encerra as threads auxiliares
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    private static SearchResult join(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro em uma thread de busca", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// chess/engine/PawnHashTable.java
+package chess.engine;
+
+import chess.ChessMatch;
+
+// Cache de tamanho fixo da avaliação da estrutura de peões, indexado pela chave de peões da ChessMatch. A estrutura
+// muda pouco durante a busca, então quase toda folha reaproveita um resultado já calculado. Cada busca (thread) tem
+// o seu: não é compartilhado, então não precisa de sincronização.
+public class PawnHashTable {
+
+    public static final int DEFAULT_ENTRIES = 1 << 14;
+
+    private final long[] keys;
+    private final long[] values; // Resultado de PawnStructure.evaluate
+    private final int mask;
+    private long hits;
+    private long misses;
+
+    // entries é arredondado para baixo para uma potência de dois
+    public PawnHashTable(int entries) {
+        if (entries < 1) {
+            throw new IllegalArgumentException("O cache de peões precisa de pelo menos uma entrada");
+        }
+        int size = Integer.highestOneBit(entries);
+        keys = new long[size];
+        values = new long[size];
+        mask = size - 1;
+        // Posição sem peões tem chave 0 e estrutura 0: as entradas vazias já são válidas para ela
+    }
+
+    // Avaliação empacotada da estrutura de peões (ver PawnStructure), do cache quando possível
+    public long probe(ChessMatch match) {
+        long key = match.pawnKey();
+        int index = (int) key & mask;
+        if (keys[index] == key) {
+            hits++;
+            return values[index];
+        }
+        misses++;
+        long value = PawnStructure.evaluate(match);
+        keys[index] = key;
+        values[index] = value;
+        return value;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Fração das consultas resolvidas pelo cache
+    public double getHitRate() {
+        long total = hits + misses;
+        return (total == 0) ? 0 : (double) hits / total;
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,93 @@
+// chess/engine/PawnStructure.java
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.enums.Color;
+import chess.enums.PieceType;
+
+// Termos de estrutura de peões: dobrados, isolados e passados. Dependem só da posição dos peões, então o resultado
+// pode ser guardado pela chave de peões (ver PawnHashTable). O valor vem empacotado: meio-jogo nos 32 bits altos,
+// final nos 32 bits baixos, sempre do ponto de vista das brancas.
+public final class PawnStructure {
+
+    private static final int DOUBLED_MG = -10;
+    private static final int DOUBLED_EG = -20;
+    private static final int ISOLATED_MG = -15;
+    private static final int ISOLATED_EG = -20;
+    // Bônus do peão passado pela linha relativa (0 = primeira linha do próprio lado)
+    private static final int[] PASSED_MG = { 0, 5, 10, 20, 35, 60, 100, 0 };
+    private static final int[] PASSED_EG = { 0, 10, 20, 40, 70, 120, 200, 0 };
+
+    private static final Color[] COLORS = { Color.WHITE, Color.BLACK };
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    // Casas à frente do peão na mesma coluna e nas vizinhas: sem peão adversário nelas, o peão é passado
+    private static final long[][] PASSED_SPAN = new long[2][64]; // [Color.ordinal()][casa]
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FILES[file] = 0x0101010101010101L << file;
+        }
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILES[file] = ((file > 0) ? FILES[file - 1] : 0) | ((file < 7) ? FILES[file + 1] : 0);
+        }
+        for (int sq = 0; sq < 64; sq++) {
+            long span = FILES[sq & 7] | ADJACENT_FILES[sq & 7];
+            int rank = sq >>> 3;
+            long above = (rank == 7) ? 0 : ~0L << ((rank + 1) * 8);
+            long below = (rank == 0) ? 0 : ~0L >>> ((8 - rank) * 8);
+            PASSED_SPAN[Color.WHITE.ordinal()][sq] = span & above;
+            PASSED_SPAN[Color.BLACK.ordinal()][sq] = span & below;
+        }
+    }
+
+    private PawnStructure() {
+    }
+
+    public static long evaluate(ChessMatch match) {
+        int mg = 0;
+        int eg = 0;
+        for (Color color : COLORS) {
+            int sign = (color == Color.WHITE) ? 1 : -1;
+            Color them = (color == Color.WHITE) ? Color.BLACK : Color.WHITE;
+            long own = match.bitboard(color, PieceType.PAWN);
+            long theirs = match.bitboard(them, PieceType.PAWN);
+
+            for (int file = 0; file < 8; file++) {
+                int count = Long.bitCount(own & FILES[file]);
+                if (count > 1) {
+                    mg += sign * DOUBLED_MG * (count - 1);
+                    eg += sign * DOUBLED_EG * (count - 1);
+                }
+            }
+
+            long pawns = own;
+            while (pawns != 0) {
+                int sq = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                if ((own & ADJACENT_FILES[sq & 7]) == 0) {
+                    mg += sign * ISOLATED_MG;
+                    eg += sign * ISOLATED_EG;
+                }
+                if ((theirs & PASSED_SPAN[color.ordinal()][sq]) == 0) {
+                    int relativeRank = (color == Color.WHITE) ? sq >>> 3 : 7 - (sq >>> 3);
+                    mg += sign * PASSED_MG[relativeRank];
+                    eg += sign * PASSED_EG[relativeRank];
+                }
+            }
+        }
+        return pack(mg, eg);
+    }
+
+    static long pack(int midgame, int endgame) {
+        return ((long) midgame << 32) | (endgame & 0xFFFFFFFFL);
+    }
+
+    public static int midgame(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int endgame(long packed) {
+        return (int) packed;
+    }
+}
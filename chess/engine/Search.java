@@ -0,0 +1,327 @@
+// chess/engine/Search.java
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.Move;
+
+// Busca alfa-beta com janela nula (PVS) e aprofundamento iterativo sobre o make/unmake da ChessMatch.
+// A partida é alterada durante a busca e volta exatamente ao estado original no fim. Todos os buffers são
+// alocados no construtor: a busca em si não cria objetos.
+public class Search {
+
+    public static final int MAX_PLY = 64;
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000; // Mate em n meios-lances vale MATE - n
+
+    public static final int DEFAULT_HASH_MB = 16;
+
+    private static final int NODES_BETWEEN_CLOCK_CHECKS = 1024;
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private ChessMatch match;
+    private final TranspositionTable table;
+
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY]; // Um seletor de lances por ply
+    private final int[][] killers = new int[MAX_PLY][2]; // Dois lances tranquilos que cortaram em cada ply
+    private final int[][][] history = new int[2][64][64]; // [cor][origem][destino]: cortes de lances tranquilos
+    private final PawnHashTable pawns = new PawnHashTable(PawnHashTable.DEFAULT_ENTRIES); // Cache da estrutura de peões
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY]; // Tabela triangular da variante principal
+    private final int[] pvLength = new int[MAX_PLY];
+    private final int[] previousPv = new int[MAX_PLY]; // Variante principal da iteração anterior
+    private int previousPvLength;
+    private final int[] path = new int[MAX_PLY]; // Lances do caminho atual, da raiz até o ply
+
+    private long nodes;
+    private long deadline; // System.nanoTime() limite, ou Long.MAX_VALUE sem limite de tempo
+    private long nodeBudget; // Nós que a busca pode visitar, ou Long.MAX_VALUE
+    private int rootDepth; // Profundidade da iteração em andamento
+    private volatile boolean stopped;
+
+    public Search(ChessMatch match) {
+        this(match, new TranspositionTable(DEFAULT_HASH_MB));
+    }
+
+    // A tabela pode ser compartilhada entre várias buscas, inclusive em threads diferentes
+    public Search(ChessMatch match, TranspositionTable table) {
+        this.match = match;
+        this.table = table;
+        for (int i = 0; i < MAX_PLY; i++) {
+            pickers[i] = new MovePicker();
+        }
+    }
+
+    // Prepara uma nova busca em match (a mesma partida ou uma cópia da nova posição) mantendo histórico, cache de
+    // peões e buffers: a ParallelSearch reaproveita as mesmas buscas de um lance para o outro
+    void prepare(ChessMatch match) {
+        this.match = match;
+        stopped = false;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    // Cache de peões desta busca, com os contadores de acertos e faltas
+    public PawnHashTable getPawnTable() {
+        return pawns;
+    }
+
+    // Procura o melhor lance até maxDepth ou até timeLimitMillis (0 = sem limite de tempo)
+    public SearchResult search(int maxDepth, long timeLimitMillis) {
+        return search(SearchLimits.depth(maxDepth).withTimeLimit(timeLimitMillis));
+    }
+
+    // Procura o melhor lance dentro dos limites (profundidade, prazo, nós). Pode ser cancelada de outra thread
+    // com stop(). Devolve sempre a última iteração completa; a profundidade 1 sempre é concluída para que haja
+    // um lance a devolver.
+    public SearchResult search(SearchLimits limits) {
+        table.newSearch();
+        stopped = false;
+        return iterate(limits, 1);
+    }
+
+    // Aprofundamento iterativo a partir de firstDepth. Usado diretamente pelas threads auxiliares da
+    // ParallelSearch, que começam em profundidades diferentes.
+    SearchResult iterate(SearchLimits limits, int firstDepth) {
+        long start = System.nanoTime();
+        deadline = limits.getHardDeadline();
+        nodeBudget = limits.getNodes();
+        int maxDepth = limits.getDepth();
+        nodes = 0;
+        previousPvLength = 0;
+        for (int[] pair : killers) {
+            pair[0] = Move.NONE;
+            pair[1] = Move.NONE;
+        }
+        ageHistory(history[0]); // O histórico de buscas anteriores ainda ajuda, com menos peso
+        ageHistory(history[1]);
+
+        int bestMove = Move.NONE;
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            rootDepth = depth;
+            int score = search(depth, -INFINITY, INFINITY, 0);
+            if (stopped && depth > 1) {
+                break; // Iteração interrompida: fica com o resultado da anterior
+            }
+            bestScore = score;
+            completedDepth = depth;
+            previousPvLength = pvLength[0];
+            System.arraycopy(pv[0], 0, previousPv, 0, previousPvLength);
+            bestMove = (previousPvLength > 0) ? previousPv[0] : Move.NONE;
+            if (bestMove == Move.NONE || Math.abs(score) > MATE - MAX_PLY || stopped) {
+                break; // Sem lances, mate encontrado ou tempo esgotado
+            }
+            if (System.nanoTime() >= limits.getSoftDeadline()) {
+                break; // Ainda há tempo até o prazo rígido, mas não para mais uma iteração inteira
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000L;
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, elapsed);
+    }
+
+    // Conta o nó e para a busca se o orçamento de nós acabou ou o prazo passou (o relógio é consultado a cada
+    // NODES_BETWEEN_CLOCK_CHECKS nós). Nunca interrompe a primeira iteração.
+    private void checkLimits() {
+        if ((++nodes >= nodeBudget || nodes % NODES_BETWEEN_CLOCK_CHECKS == 0 && System.nanoTime() > deadline)
+                && rootDepth > 1) {
+            stopped = true;
+        }
+    }
+
+    // Pede para a busca em andamento parar (pode ser chamado de outra thread)
+    public void stop() {
+        stopped = true;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    // Variante principal da última iteração completa
+    public int getPrincipalVariation(int[] line) {
+        System.arraycopy(previousPv, 0, line, 0, previousPvLength);
+        return previousPvLength;
+    }
+
+    private int search(int depth, int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        checkLimits();
+        if (ply > 0 && (match.isRepetition() || match.getHalfMoveClock() >= 100)) {
+            return 0; // Empate por repetição ou pela regra dos 50 lances
+        }
+        boolean inCheck = match.inCheck();
+        if (inCheck) {
+            depth++; // Extensão de xeque: não para a busca com o rei atacado
+        }
+        if (depth <= 0) {
+            nodes--; // O nó é contado pela quiescência
+            return quiescence(alpha, beta, ply);
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluation.evaluate(match, pawns);
+        }
+        // Tabela de transposição: fora da variante principal, um resultado com profundidade suficiente encerra o nó
+        long key = match.positionKey();
+        long entry = table.probe(key);
+        int hashMove = Move.NONE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (ply > 0 && beta - alpha == 1 && TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        if (hashMove == Move.NONE && ply < previousPvLength && followsPreviousPv(ply)) {
+            hashMove = previousPv[ply]; // Sem entrada na tabela, a variante principal anterior faz o papel do lance da tabela
+        }
+        int[][] history = this.history[match.getCurrentPlayer().ordinal()];
+        MovePicker picker = pickers[ply];
+        picker.init(match, hashMove, killers[ply][0], killers[ply][1], history);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        int moveCount = 0;
+        int move;
+        while ((move = picker.next()) != Move.NONE) {
+            boolean quiet = !match.isTactical(move);
+            path[ply] = move;
+            match.makeMove(move);
+            int score;
+            if (moveCount++ == 0) {
+                score = -search(depth - 1, -beta, -alpha, ply + 1);
+            } else {
+                // Janela nula: só refaz a busca completa se o lance parece melhor que o atual
+                score = -search(depth - 1, -alpha - 1, -alpha, ply + 1);
+                if (score > alpha && score < beta) {
+                    score = -search(depth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            match.undoMove();
+            if (stopped && rootDepth > 1) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        if (quiet) {
+                            recordQuietCutoff(ply, move, depth, history);
+                        }
+                        break; // Corte beta
+                    }
+                }
+            }
+        }
+        if (moveCount == 0) {
+            return inCheck ? -MATE + ply : 0; // Xeque-mate ou afogamento
+        }
+
+        int bound = (best >= beta) ? TranspositionTable.BOUND_LOWER
+                : (best > originalAlpha) ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        table.store(key, (bound == TranspositionTable.BOUND_UPPER) ? Move.NONE : bestMove,
+                TranspositionTable.scoreToTable(best, ply), depth, bound);
+        return best;
+    }
+
+    // Quiescência: no horizonte só continua com capturas e promoções, até a posição ficar quieta, para não avaliar no
+    // meio de uma troca. O jogador pode "ficar parado" com a avaliação estática. Em xeque, busca todas as defesas.
+    private int quiescence(int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        checkLimits();
+        if (ply >= MAX_PLY - 1) {
+            return Evaluation.evaluate(match, pawns);
+        }
+        boolean inCheck = match.inCheck();
+        int best = -INFINITY;
+        MovePicker picker = pickers[ply];
+        if (inCheck) {
+            picker.init(match, Move.NONE, Move.NONE, Move.NONE, history[match.getCurrentPlayer().ordinal()]);
+        } else {
+            best = Evaluation.evaluate(match, pawns);
+            if (best >= beta) {
+                return best;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            picker.initQuiescence(match);
+        }
+
+        int moveCount = 0;
+        int move;
+        while ((move = picker.next()) != Move.NONE) {
+            moveCount++;
+            match.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            match.undoMove();
+            if (stopped && rootDepth > 1) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (inCheck && moveCount == 0) {
+            return -MATE + ply;
+        }
+        return best;
+    }
+
+    // Um lance tranquilo que cortou vira killer deste ply e ganha pontos no histórico (mais em buscas profundas)
+    private void recordQuietCutoff(int ply, int move, int depth, int[][] history) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        history[from][to] += depth * depth;
+        if (history[from][to] > HISTORY_LIMIT) {
+            ageHistory(history);
+        }
+    }
+
+    // Divide o histórico por dois, mantendo a ordem relativa e abrindo espaço para informações novas
+    private static void ageHistory(int[][] history) {
+        for (int[] row : history) {
+            for (int to = 0; to < 64; to++) {
+                row[to] >>= 1;
+            }
+        }
+    }
+
+    // O caminho atual da raiz até ply coincide com a variante principal anterior?
+    private boolean followsPreviousPv(int ply) {
+        for (int p = 0; p < ply; p++) {
+            if (path[p] != previousPv[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][ply] = move;
+        int childLength = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, childLength);
+        pvLength[ply] = childLength + 1;
+    }
+}
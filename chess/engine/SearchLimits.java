@@ -0,0 +1,101 @@
+// chess/engine/SearchLimits.java
+package chess.engine;
+
+// Limites de uma busca: profundidade, prazo (instante de System.nanoTime()), orçamento de nós, ou qualquer combinação.
+// O prazo "flexível" só impede começar uma nova iteração; o prazo rígido interrompe a iteração em andamento.
+// Em qualquer caso a busca devolve a última iteração completa (a profundidade 1 sempre termina).
+public class SearchLimits {
+
+    private static final long MOVE_OVERHEAD_MILLIS = 30; // Margem para a comunicação e o relógio do adversário
+    private static final int DEFAULT_MOVES_TO_GO = 30; // Lances que se supõe faltarem quando o controle não diz
+
+    private int depth = Search.MAX_PLY - 1;
+    private long softDeadline = Long.MAX_VALUE;
+    private long hardDeadline = Long.MAX_VALUE;
+    private long nodes = Long.MAX_VALUE;
+
+    // Sem limites: a busca só termina com stop(), mate ou na profundidade máxima
+    public static SearchLimits infinite() {
+        return new SearchLimits();
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits().withDepth(depth);
+    }
+
+    public static SearchLimits timeLimit(long millis) {
+        return new SearchLimits().withTimeLimit(millis);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits().withNodes(nodes);
+    }
+
+    // Controle de tempo de torneio: tempo restante no relógio, incremento por lance e lances até o próximo controle
+    // (0 se o controle é para a partida toda). Reparte o tempo restante entre os lances que faltam, somando a maior
+    // parte do incremento. O prazo flexível fica nessa fatia, e o rígido permite até 4 vezes ela quando a iteração
+    // em andamento precisa terminar, sem nunca passar de metade do relógio (90% no último lance antes do controle).
+    public static SearchLimits clock(long timeLeftMillis, long incrementMillis, int movesToGo) {
+        long available = Math.max(1, timeLeftMillis - MOVE_OVERHEAD_MILLIS);
+        int moves = (movesToGo > 0) ? Math.min(movesToGo, 50) : DEFAULT_MOVES_TO_GO;
+        long maximum = available * ((moves == 1) ? 9 : 5) / 10;
+        long optimum = available / moves + incrementMillis * 3 / 4;
+        maximum = Math.max(1, Math.min(optimum * 4, maximum));
+        optimum = Math.max(1, Math.min(optimum, maximum));
+
+        long now = System.nanoTime();
+        SearchLimits limits = new SearchLimits();
+        limits.softDeadline = now + optimum * 1_000_000L;
+        limits.hardDeadline = now + maximum * 1_000_000L;
+        return limits;
+    }
+
+    public SearchLimits withDepth(int depth) {
+        this.depth = Math.max(1, Math.min(depth, Search.MAX_PLY - 1));
+        return this;
+    }
+
+    // Prazo absoluto em System.nanoTime(); com mais de um prazo, vale o mais cedo
+    public SearchLimits withDeadline(long nanoTime) {
+        hardDeadline = Math.min(hardDeadline, nanoTime);
+        softDeadline = Math.min(softDeadline, nanoTime);
+        return this;
+    }
+
+    // Prazo a partir de agora (0 = sem limite de tempo)
+    public SearchLimits withTimeLimit(long millis) {
+        return (millis > 0) ? withDeadline(System.nanoTime() + millis * 1_000_000L) : this;
+    }
+
+    // Orçamento de nós (0 = sem limite)
+    public SearchLimits withNodes(long nodes) {
+        this.nodes = (nodes > 0) ? nodes : Long.MAX_VALUE;
+        return this;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getSoftDeadline() {
+        return softDeadline;
+    }
+
+    public long getHardDeadline() {
+        return hardDeadline;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    // Limites de cada uma das threads de uma busca paralela: o orçamento de nós é dividido entre elas
+    SearchLimits perThread(int threads) {
+        SearchLimits limits = new SearchLimits();
+        limits.depth = depth;
+        limits.softDeadline = softDeadline;
+        limits.hardDeadline = hardDeadline;
+        limits.nodes = (nodes == Long.MAX_VALUE) ? nodes : Math.max(1, nodes / threads);
+        return limits;
+    }
+}
@@ -0,0 +1,54 @@
+// chess/engine/SearchResult.java
+package chess.engine;
+
+import chess.Move;
+
+// Resultado de uma busca: melhor lance, avaliação e estatísticas da última iteração completa
+public class SearchResult {
+
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedMillis) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Melhor lance codificado com Move (Move.NONE se o jogador da vez não tem lances)
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    // Avaliação em centipeões do ponto de vista de quem joga; |score| > Search.MATE - Search.MAX_PLY indica mate
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return nodes * 1000 / Math.max(1, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return Move.toString(bestMove) + " score " + score + " profundidade " + depth + " nós " + nodes
+                + " (" + getNodesPerSecond() + " nós/s)";
+    }
+}
@@ -0,0 +1,179 @@
+// chess/engine/TranspositionTable.java
+package chess.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Tabela de transposição compartilhada, fora do heap (ByteBuffer direto) e sem travas.
+// Cada entrada ocupa dois longs: (chave ^ dados) e dados. Uma escrita concorrente pela metade deixa o par
+// inconsistente, e a leitura descarta a entrada porque o XOR não devolve a chave: não há travas nem entradas
+// corrompidas, no máximo uma informação perdida. As entradas ficam em grupos de 4 (64 bytes, uma linha de cache)
+// e a substituição prefere manter entradas mais profundas e da busca atual.
+public class TranspositionTable {
+
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2; // O valor real é >= score (corte beta)
+    public static final int BOUND_UPPER = 3; // O valor real é <= score (nenhum lance superou alfa)
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int CHUNK_SHIFT = 30; // ByteBuffer é limitado a 2 GB: a tabela é dividida em blocos de 1 GB
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    // Leitura e escrita atômicas de long nas posições alinhadas do buffer direto
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    // Layout dos dados: lance 17 bits | score 16 bits | profundidade 8 bits | tipo 2 bits | idade 8 bits
+    private static final int SCORE_SHIFT = 17;
+    private static final int DEPTH_SHIFT = 33;
+    private static final int BOUND_SHIFT = 41;
+    private static final int AGE_SHIFT = 43;
+
+    private final ByteBuffer[] chunks;
+    private final long bucketMask;
+    private volatile int age; // Incrementada a cada nova busca, para envelhecer as entradas antigas
+
+    // Cria uma tabela que usa até megabytes de memória (arredondado para baixo para uma potência de dois)
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Tamanho da tabela de transposição deve ser de pelo menos 1 MB");
+        }
+        long bytes = Long.highestOneBit((long) megabytes << 20);
+        long buckets = bytes / (ENTRY_BYTES * BUCKET_ENTRIES);
+        bucketMask = buckets - 1;
+        int chunkCount = (int) Math.max(1, bytes >>> CHUNK_SHIFT);
+        chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = ByteBuffer.allocateDirect((int) Math.min(bytes, 1L << CHUNK_SHIFT)).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    public long sizeInBytes() {
+        return (bucketMask + 1) * ENTRY_BYTES * BUCKET_ENTRIES;
+    }
+
+    // Apaga todas as entradas (não deve ser chamado com buscas em andamento)
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i += 8) {
+                LONGS.setOpaque(chunk, i, 0L);
+            }
+        }
+    }
+
+    // Marca o início de uma nova busca: entradas de buscas anteriores passam a ser substituídas primeiro
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    // Procura a posição; devolve os dados empacotados ou 0 se não há entrada válida para a chave
+    public long probe(long key) {
+        long offset = bucketOffset(key);
+        ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+        int base = (int) (offset & CHUNK_MASK);
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int at = base + i * ENTRY_BYTES;
+            long check = (long) LONGS.getOpaque(chunk, at);
+            long data = (long) LONGS.getOpaque(chunk, at + 8);
+            if (data != 0 && (check ^ data) == key) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    // Grava o resultado de uma busca. score deve estar ajustado com scoreToTable se for um valor de mate.
+    public void store(long key, int move, int score, int depth, int bound) {
+        long offset = bucketOffset(key);
+        ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+        int base = (int) (offset & CHUNK_MASK);
+        int currentAge = age;
+
+        int victim = base;
+        int victimValue = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int at = base + i * ENTRY_BYTES;
+            long data = (long) LONGS.getOpaque(chunk, at + 8);
+            long check = (long) LONGS.getOpaque(chunk, at);
+            if (data != 0 && (check ^ data) == key) {
+                // Mesma posição: só troca uma entrada mais profunda da busca atual por um resultado exato
+                if (depth(data) > depth + 2 && age(data) == currentAge && bound != BOUND_EXACT) {
+                    return;
+                }
+                if (move == 0) {
+                    move = move(data); // Preserva o melhor lance conhecido
+                }
+                victim = at;
+                break;
+            }
+            // Entradas vazias primeiro; depois as mais rasas, descontando 8 de profundidade por busca de idade
+            int value = (data == 0) ? Integer.MIN_VALUE : depth(data) - 8 * ((currentAge - age(data)) & 0xFF);
+            if (value < victimValue) {
+                victimValue = value;
+                victim = at;
+            }
+        }
+
+        long data = (move & 0x1FFFFL)
+                | ((long) ((score + 32768) & 0xFFFF) << SCORE_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) currentAge << AGE_SHIFT);
+        LONGS.setOpaque(chunk, victim, key ^ data);
+        LONGS.setOpaque(chunk, victim + 8, data);
+    }
+
+    // Ocupação aproximada em milésimos, pela amostra dos primeiros grupos (como o "hashfull" do UCI)
+    public int hashfull() {
+        int used = 0;
+        int samples = (int) Math.min(1000 / BUCKET_ENTRIES, bucketMask + 1);
+        ByteBuffer chunk = chunks[0];
+        for (int i = 0; i < samples * BUCKET_ENTRIES; i++) {
+            long data = (long) LONGS.getOpaque(chunk, i * ENTRY_BYTES + 8);
+            if (data != 0 && age(data) == age) {
+                used++;
+            }
+        }
+        return used * 1000 / (samples * BUCKET_ENTRIES);
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0x1FFFF);
+    }
+
+    public static int score(long data) {
+        return (int) ((data >>> SCORE_SHIFT) & 0xFFFF) - 32768;
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int age(long data) {
+        return (int) ((data >>> AGE_SHIFT) & 0xFF);
+    }
+
+    // Valores de mate são guardados relativos ao nó (distância até o mate) e não à raiz
+    public static int scoreToTable(int score, int ply) {
+        if (score > Search.MATE - Search.MAX_PLY) return score + ply;
+        if (score < -Search.MATE + Search.MAX_PLY) return score - ply;
+        return score;
+    }
+
+    public static int scoreFromTable(int score, int ply) {
+        if (score > Search.MATE - Search.MAX_PLY) return score - ply;
+        if (score < -Search.MATE + Search.MAX_PLY) return score + ply;
+        return score;
+    }
+
+    // Os bits altos da chave escolhem o grupo; os baixos continuam úteis para outras tabelas
+    private long bucketOffset(long key) {
+        return ((key >>> 20) & bucketMask) * (ENTRY_BYTES * BUCKET_ENTRIES);
+    }
+}
@@ -0,0 +1,11 @@
+// chess/enums/PieceType.java
+package chess.enums;
+
+public enum PieceType {
+    PAWN,
+    KNIGHT,
+    BISHOP,
+    ROOK,
+    QUEEN,
+    KING;
+}
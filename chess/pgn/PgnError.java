@@ -0,0 +1,47 @@
+// chess/pgn/PgnError.java
+package chess.pgn;
+
+// Partida rejeitada pela reprodução: qual partida, em que meio-lance (a partir de 0) e qual lance em SAN falhou.
+// ply e san ficam -1 e null quando o erro não é de um lance (ex: FEN inicial inválida).
+public class PgnError {
+
+    private final PgnGame game;
+    private final int ply;
+    private final String san;
+    private final String message;
+
+    public PgnError(PgnGame game, int ply, String san, String message) {
+        this.game = game;
+        this.ply = ply;
+        this.san = san;
+        this.message = message;
+    }
+
+    public PgnGame getGame() {
+        return game;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public String getSan() {
+        return san;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        String where = "Partida " + game.getNumber();
+        if (game.getTag("White") != null && game.getTag("Black") != null) {
+            where += " (" + game.getTag("White") + " x " + game.getTag("Black") + ")";
+        }
+        if (san != null) {
+            where += ", lance " + (ply / 2 + 1) + ((ply % 2 == 0) ? ". " : "... ") + san;
+        }
+        return where + ": " + message;
+    }
+}
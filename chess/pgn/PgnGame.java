@@ -0,0 +1,48 @@
+// chess/pgn/PgnGame.java
+package chess.pgn;
+
+import java.util.Map;
+
+// Partida como lida do PGN, antes de ser reproduzida: tags, lances em SAN (sem números, comentários nem variantes)
+// e o resultado. A validação dos lances fica com quem reproduz a partida (ver PgnReplay).
+public class PgnGame {
+
+    private final long number;
+    private final Map<String, String> tags;
+    private final String[] moves;
+    private final String result;
+
+    public PgnGame(long number, Map<String, String> tags, String[] moves, String result) {
+        this.number = number;
+        this.tags = tags;
+        this.moves = moves;
+        this.result = result;
+    }
+
+    // Ordem da partida no arquivo, a partir de 1
+    public long getNumber() {
+        return number;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public String[] getMoves() {
+        return moves;
+    }
+
+    // "1-0", "0-1", "1/2-1/2", "*", ou null se o arquivo terminou sem resultado
+    public String getResult() {
+        return result;
+    }
+
+    // Posição inicial em FEN, ou null se a partida começa da posição inicial padrão
+    public String getFen() {
+        return tags.get("FEN");
+    }
+}
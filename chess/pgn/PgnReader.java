@@ -0,0 +1,242 @@
+// chess/pgn/PgnReader.java
+package chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Leitor de PGN em fluxo: devolve uma partida por vez e nunca guarda mais que a partida atual, então a memória não
+// depende do tamanho do arquivo. Lê bytes direto de um buffer (de um InputStream ou de janelas de um arquivo
+// mapeado em memória) e separa os tokens à mão, sem expressões regulares. Comentários, variantes, NAGs e números
+// de lance são descartados; os lances ficam em SAN, para serem resolvidos por San contra os lances legais.
+public class PgnReader implements Closeable {
+
+    private static final int STREAM_BUFFER = 1 << 16;
+    private static final long MAP_WINDOW = 1L << 26; // O arquivo é mapeado em janelas de 64 MB
+
+    private final InputStream in; // Um dos dois é null
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long mapped; // Bytes do arquivo já mapeados
+
+    private int pushback = -1; // Byte devolvido por unread, ou -1
+    private byte[] token = new byte[64]; // Reutilizado para tokens e valores de tags
+    private long games;
+
+    public PgnReader(InputStream in) {
+        this.in = in;
+        this.channel = null;
+        this.buffer = ByteBuffer.allocate(STREAM_BUFFER);
+        buffer.limit(0);
+    }
+
+    private PgnReader(FileChannel channel) {
+        this.in = null;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(0);
+    }
+
+    // Lê o arquivo mapeado em memória: as páginas vêm do cache do sistema, sem cópia para um buffer do Java
+    public static PgnReader open(Path path) throws IOException {
+        return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    // Próxima partida, ou null no fim do arquivo
+    public PgnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        String result = null;
+        boolean inMoves = false;
+
+        int c;
+        while ((c = read()) >= 0) {
+            if (c <= ' ') {
+                continue;
+            }
+            if (c == '[') {
+                if (inMoves) { // Começou outra partida sem o resultado desta
+                    unread(c);
+                    break;
+                }
+                readTag(tags);
+            } else if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';' || c == '%') {
+                skipUntil('\n');
+            } else if (c == '(') {
+                skipVariation();
+            } else if (c == '$' || c == ')') {
+                readToken(c); // NAG, ou parêntese sobrando
+            } else {
+                inMoves = true;
+                String word = readToken(c);
+                if (isResult(word)) {
+                    result = word;
+                    break;
+                }
+                String move = stripMoveNumber(word);
+                if (!move.isEmpty()) {
+                    moves.add(move);
+                }
+            }
+        }
+        if (tags.isEmpty() && moves.isEmpty() && result == null) {
+            return null;
+        }
+        return new PgnGame(++games, tags, moves.toArray(new String[0]), result);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        } else {
+            channel.close();
+        }
+    }
+
+    // [Nome "valor"], com \" e \\ escapados no valor
+    private void readTag(Map<String, String> tags) throws IOException {
+        int c = skipSpaces(read());
+        int length = 0;
+        while (c > ' ' && c != '"' && c != ']') {
+            length = append(length, c);
+            c = read();
+        }
+        String name = new String(token, 0, length, StandardCharsets.ISO_8859_1);
+        c = skipSpaces(c);
+        length = 0;
+        if (c == '"') {
+            while ((c = read()) >= 0 && c != '"') {
+                if (c == '\\') {
+                    c = read();
+                }
+                length = append(length, c);
+            }
+            c = read();
+        }
+        String value = new String(token, 0, length, StandardCharsets.UTF_8);
+        while (c >= 0 && c != ']' && c != '\n') {
+            c = read();
+        }
+        tags.put(name, value);
+    }
+
+    // Token até um espaço ou um delimitador do PGN (que é devolvido para a próxima leitura)
+    private String readToken(int first) throws IOException {
+        int length = append(0, first);
+        int c;
+        while ((c = read()) > ' ') {
+            if (c == '{' || c == '(' || c == ')' || c == ';' || c == '[') {
+                unread(c);
+                break;
+            }
+            length = append(length, c);
+        }
+        return new String(token, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    // Variante entre parênteses, com variantes e comentários aninhados
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) >= 0) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';') {
+                skipUntil('\n');
+            }
+        }
+    }
+
+    private void skipUntil(int end) throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != end) {
+            // Descarta
+        }
+    }
+
+    private int skipSpaces(int c) throws IOException {
+        while (c >= 0 && c <= ' ') {
+            c = read();
+        }
+        return c;
+    }
+
+    private static boolean isResult(String word) {
+        return word.equals("1-0") || word.equals("0-1") || word.equals("1/2-1/2") || word.equals("*");
+    }
+
+    // "12.", "12..." e "12.e4" viram "", "" e "e4"
+    private static String stripMoveNumber(String word) {
+        int i = 0;
+        while (i < word.length() && word.charAt(i) >= '0' && word.charAt(i) <= '9') {
+            i++;
+        }
+        if (i == 0 || i == word.length() || word.charAt(i) != '.') {
+            return word; // Não é número de lance (ex: "0-0" escrito com zeros)
+        }
+        while (i < word.length() && word.charAt(i) == '.') {
+            i++;
+        }
+        return word.substring(i);
+    }
+
+    private int append(int length, int c) {
+        if (length == token.length) {
+            token = Arrays.copyOf(token, length * 2);
+        }
+        token[length] = (byte) c;
+        return length + 1;
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+
+    private int read() throws IOException {
+        if (pushback >= 0) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        if (!buffer.hasRemaining() && !refill()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private boolean refill() throws IOException {
+        if (in != null) {
+            int n = in.read(buffer.array());
+            if (n <= 0) {
+                return false;
+            }
+            buffer.position(0);
+            buffer.limit(n);
+            return true;
+        }
+        long size = channel.size();
+        if (mapped >= size) {
+            return false;
+        }
+        long length = Math.min(MAP_WINDOW, size - mapped);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+        mapped += length;
+        return true;
+    }
+}
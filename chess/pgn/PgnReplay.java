@@ -0,0 +1,148 @@
+// chess/pgn/PgnReplay.java
+package chess.pgn;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Move;
+
+// Reproduz as partidas de um PgnReader em várias threads: a thread que chama run lê o arquivo e coloca as partidas
+// numa fila limitada, e as threads de trabalho resolvem o SAN e aplicam cada lance com performChessMove, cada uma
+// na sua ChessMatch. A fila cheia segura a leitura, então a memória fica constante qualquer que seja o tamanho do
+// arquivo. Partidas com lance ilegal, ambíguo ou malformado vão para o canal de erros e a reprodução continua.
+public class PgnReplay {
+
+    // Chamado pelas threads de trabalho, em paralelo: as implementações precisam ser thread-safe
+    public interface Listener {
+
+        // Depois de cada lance aplicado; match já está na posição resultante
+        default void move(PgnGame game, ChessMatch match, int move) {
+        }
+
+        // Partida reproduzida até o fim sem erros
+        default void game(PgnGame game, ChessMatch match) {
+        }
+    }
+
+    private static final int QUEUE_PER_THREAD = 64; // Partidas em espera por thread de trabalho
+    private static final PgnGame END = new PgnGame(0, Collections.emptyMap(), new String[0], null); // Fim da fila
+
+    private final int threads;
+    private final Listener listener;
+    private final Consumer<PgnError> errors;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long start;
+
+    // errors recebe as partidas rejeitadas, também a partir das threads de trabalho
+    public PgnReplay(int threads, Consumer<PgnError> errors) {
+        this(threads, new Listener() {
+        }, errors);
+    }
+
+    public PgnReplay(int threads, Listener listener, Consumer<PgnError> errors) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser pelo menos 1");
+        }
+        this.threads = threads;
+        this.listener = listener;
+        this.errors = errors;
+    }
+
+    // Reproduz todas as partidas e devolve os contadores finais. Não fecha o leitor.
+    public ReplayStats run(PgnReader reader) throws IOException, InterruptedException {
+        games.reset();
+        moves.reset();
+        failed.reset();
+        start = System.nanoTime();
+
+        BlockingQueue<PgnGame> queue = new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD);
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pgn-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> work(queue));
+        }
+        try {
+            PgnGame game;
+            while ((game = reader.next()) != null) {
+                queue.put(game);
+            }
+        } finally {
+            for (int i = 0; i < threads; i++) {
+                queue.put(END); // As threads terminam o que já está na fila antes de ver o fim
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return stats();
+    }
+
+    // Contadores até agora; pode ser chamado de outra thread durante run, para mostrar o progresso
+    public ReplayStats stats() {
+        return new ReplayStats(games.sum(), moves.sum(), failed.sum(), (start == 0) ? 0 : System.nanoTime() - start);
+    }
+
+    private void work(BlockingQueue<PgnGame> queue) {
+        int[] buffer = new int[ChessMatch.MAX_LEGAL_MOVES];
+        try {
+            PgnGame game;
+            while ((game = queue.take()) != END) {
+                replay(game, buffer);
+                games.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void replay(PgnGame game, int[] buffer) {
+        ChessMatch match;
+        try {
+            match = (game.getFen() != null) ? ChessMatch.fromFen(game.getFen()) : new ChessMatch();
+        } catch (ChessException e) {
+            fail(game, -1, null, e.getMessage());
+            return;
+        }
+
+        String[] sans = game.getMoves();
+        int ply = 0;
+        try {
+            for (; ply < sans.length; ply++) {
+                if (match.getCheckMate()) {
+                    fail(game, ply, sans[ply], "lance depois do xeque-mate");
+                    return;
+                }
+                int move = San.parse(match, sans[ply], buffer);
+                if (move == Move.NONE) {
+                    fail(game, ply, sans[ply], "lance ilegal, ambíguo ou malformado");
+                    return;
+                }
+                match.performChessMove(move);
+                listener.move(game, match, move);
+            }
+            listener.game(game, match);
+        } catch (RuntimeException e) { // Erro do listener: rejeita a partida, mas não derruba a thread
+            fail(game, ply, (ply < sans.length) ? sans[ply] : null, e.toString());
+        } finally {
+            moves.add(ply);
+        }
+    }
+
+    private void fail(PgnGame game, int ply, String san, String message) {
+        failed.increment();
+        errors.accept(new PgnError(game, ply, san, message));
+    }
+}
@@ -0,0 +1,51 @@
+// chess/pgn/ReplayStats.java
+package chess.pgn;
+
+// Contadores de uma reprodução de PGN em andamento ou terminada
+public class ReplayStats {
+
+    private final long games;
+    private final long moves;
+    private final long errors;
+    private final long elapsedNanos;
+
+    public ReplayStats(long games, long moves, long errors, long elapsedNanos) {
+        this.games = games;
+        this.moves = moves;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Partidas reproduzidas, incluindo as rejeitadas
+    public long getGames() {
+        return games;
+    }
+
+    // Lances aplicados com sucesso
+    public long getMoves() {
+        return moves;
+    }
+
+    // Partidas rejeitadas (enviadas ao canal de erros)
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getGamesPerSecond() {
+        return (elapsedNanos > 0) ? games * 1e9 / elapsedNanos : 0;
+    }
+
+    public double getMovesPerSecond() {
+        return (elapsedNanos > 0) ? moves * 1e9 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d partidas (%,d com erro), %,d lances em %.1f s: %,.0f partidas/s, %,.0f lances/s",
+                games, errors, moves, elapsedNanos / 1e9, getGamesPerSecond(), getMovesPerSecond());
+    }
+}
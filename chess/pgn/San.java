@@ -0,0 +1,201 @@
+// chess/pgn/San.java
+package chess.pgn;
+
+import chess.ChessMatch;
+import chess.Move;
+import chess.enums.PieceType;
+
+// Notação algébrica padrão (SAN): "e4", "Nbd7", "exd5", "R1e2", "e8=Q+", "O-O-O". O texto é lido caractere a
+// caractere e comparado com a lista de lances legais da partida, que resolve sozinha xeques, cravadas e
+// desambiguações: o lance só é aceito se exatamente um lance legal corresponde.
+public final class San {
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long RANK_1 = 0xFFL;
+
+    private San() {
+    }
+
+    // Lance legal correspondente, ou Move.NONE se não há nenhum (lance ilegal ou malformado) ou há mais de um (ambíguo).
+    // moves é um buffer de pelo menos ChessMatch.MAX_LEGAL_MOVES posições.
+    public static int parse(ChessMatch match, String san, int[] moves) {
+        int end = san.length();
+        while (end > 0 && isSuffix(san.charAt(end - 1))) {
+            end--;
+        }
+        if (end < 2) {
+            return Move.NONE;
+        }
+        if (san.charAt(0) == 'O' || san.charAt(0) == '0') {
+            return castling(match, san, end, moves);
+        }
+
+        int i = 0;
+        PieceType type = pieceType(san.charAt(0));
+        if (type != null) {
+            i = 1;
+        } else {
+            type = PieceType.PAWN;
+        }
+
+        PieceType promotion = null;
+        if (type == PieceType.PAWN) {
+            if (end >= 2 && san.charAt(end - 2) == '=') {
+                promotion = pieceType(san.charAt(end - 1));
+                end -= 2;
+            } else if (pieceType(san.charAt(end - 1)) != null) { // "e8Q", sem o sinal de igual
+                promotion = pieceType(san.charAt(end - 1));
+                end--;
+            }
+            if (promotion == PieceType.KING) {
+                return Move.NONE;
+            }
+        }
+
+        if (end - i < 2) {
+            return Move.NONE;
+        }
+        int toFile = san.charAt(end - 2) - 'a';
+        int toRank = san.charAt(end - 1) - '1';
+        if (toFile < 0 || toFile > 7 || toRank < 0 || toRank > 7) {
+            return Move.NONE;
+        }
+        int to = toRank * 8 + toFile;
+
+        // O que sobra entre a peça e o destino: coluna e/ou linha de origem, e o "x" de captura
+        int fromFile = -1;
+        int fromRank = -1;
+        boolean capture = false;
+        for (int k = i; k < end - 2; k++) {
+            char c = san.charAt(k);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = c - '1';
+            } else if (c == 'x' || c == ':') {
+                capture = true;
+            } else if (c != '-') {
+                return Move.NONE;
+            }
+        }
+        // Peão não se desambigua pelo destino: captura sempre traz a coluna de origem e o "x" ("cxd5"), e avanço não
+        // traz nada ("d5"), senão "d5" aceitaria a captura c4xd5
+        boolean pawn = type == PieceType.PAWN;
+        if (pawn && (capture ? fromFile < 0 : fromFile >= 0 || fromRank >= 0)) {
+            return Move.NONE;
+        }
+
+        // Só gera os lances das peças que podem ser a de origem: do tipo certo, na coluna e linha indicadas
+        long fromMask = match.bitboard(match.getCurrentPlayer(), type);
+        if (fromFile >= 0) {
+            fromMask &= FILE_A << fromFile;
+        }
+        if (fromRank >= 0) {
+            fromMask &= RANK_1 << (8 * fromRank);
+        }
+        int n = match.legalMovesFrom(fromMask, moves);
+        int found = Move.NONE;
+        for (int k = 0; k < n; k++) {
+            int move = moves[k];
+            if (Move.to(move) != to || Move.promotionType(move) != promotion || Move.flag(move) == Move.CASTLING) {
+                continue;
+            }
+            if (pawn && ((Move.from(move) & 7) != toFile) != capture) { // Captura de peão muda de coluna
+                continue;
+            }
+            if (found != Move.NONE) {
+                return Move.NONE; // Ambíguo
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    // SAN de um lance legal na posição atual, com a desambiguação mínima e o sinal de xeque ou mate
+    public static String toString(ChessMatch match, int move, int[] moves) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        StringBuilder san = new StringBuilder(8);
+        if (Move.flag(move) == Move.CASTLING) {
+            san.append((to > from) ? "O-O" : "O-O-O");
+        } else {
+            PieceType type = match.pieceAt(from).getType();
+            boolean capture = match.pieceAt(to) != null || Move.flag(move) == Move.EN_PASSANT;
+            if (type == PieceType.PAWN) {
+                if (capture) {
+                    san.append((char) ('a' + (from & 7)));
+                }
+            } else {
+                san.append("PNBRQK".charAt(type.ordinal()));
+                // Outras peças do mesmo tipo que vão para a mesma casa decidem se a coluna e/ou a linha aparecem
+                boolean ambiguous = false;
+                boolean sameFile = false;
+                boolean sameRank = false;
+                int n = match.legalMovesFrom(match.bitboard(match.getCurrentPlayer(), type) & ~(1L << from), moves);
+                for (int k = 0; k < n; k++) {
+                    int other = Move.from(moves[k]);
+                    if (Move.to(moves[k]) == to) {
+                        ambiguous = true;
+                        sameFile |= (other & 7) == (from & 7);
+                        sameRank |= (other >>> 3) == (from >>> 3);
+                    }
+                }
+                if (ambiguous && (!sameFile || sameRank)) {
+                    san.append((char) ('a' + (from & 7)));
+                }
+                if (ambiguous && sameFile) {
+                    san.append((char) ('1' + (from >>> 3)));
+                }
+            }
+            if (capture) {
+                san.append('x');
+            }
+            san.append(Move.squareName(to));
+            if (Move.isPromotion(move)) {
+                san.append('=').append("PNBRQK".charAt(Move.promotionType(move).ordinal()));
+            }
+        }
+        match.makeMove(move);
+        if (match.inCheck()) {
+            san.append((match.legalMoves(moves) == 0) ? '#' : '+');
+        }
+        match.undoMove();
+        return san.toString();
+    }
+
+    // "O-O" / "O-O-O" (também com zeros)
+    private static int castling(ChessMatch match, String san, int end, int[] moves) {
+        boolean kingside;
+        if (end == 3 && san.charAt(1) == '-') {
+            kingside = true;
+        } else if (end == 5 && san.charAt(1) == '-' && san.charAt(3) == '-') {
+            kingside = false;
+        } else {
+            return Move.NONE;
+        }
+        int n = match.legalMovesFrom(match.bitboard(match.getCurrentPlayer(), PieceType.KING), moves);
+        for (int k = 0; k < n; k++) {
+            int move = moves[k];
+            if (Move.flag(move) == Move.CASTLING && (Move.to(move) > Move.from(move)) == kingside) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    // Xeque, mate e anotações ("!", "?", "!?") no fim do lance não mudam o lance
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static PieceType pieceType(char c) {
+        switch (c) {
+            case 'N': return PieceType.KNIGHT;
+            case 'B': return PieceType.BISHOP;
+            case 'R': return PieceType.ROOK;
+            case 'Q': return PieceType.QUEEN;
+            case 'K': return PieceType.KING;
+            default: return null;
+        }
+    }
+}
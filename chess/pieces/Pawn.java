@@ -2,10 +2,12 @@
 package chess.pieces;
 
 import board.Board;
-import board.Position;
+import chess.Attacks;
 import chess.ChessMatch; // Necessário para a referência ao ChessMatch para 'en passant'
 import chess.ChessPiece;
+import chess.Move;
 import chess.enums.Color;
+import chess.enums.PieceType;
 
 public class Pawn extends ChessPiece {
 
@@ -16,86 +18,65 @@ public class Pawn extends ChessPiece {
         this.chessMatch = chessMatch; // Recebe a referência da partida
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.PAWN;
+    }
+
     @Override
     public String toString() {
         return "P"; // Representação para o peão
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
+    public int generateMoves(int[] moves, int start, long targets) {
+        Board board = getBoard();
+        int from = square();
+        int forward = (getColor() == Color.WHITE) ? 8 : -8; // Branco sobe (a1 -> a8), preto desce
+        long empty = ~board.getOccupied();
+        int n = start;
 
-        Position p = new Position(0, 0);
-
-        if (getColor() == Color.WHITE) {
-            // 1 casa para frente
-            p.setValues(position.getRow() - 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().hasPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            // 2 casas para frente (primeiro movimento)
-            p.setValues(position.getRow() - 2, position.getColumn());
-            Position p2 = new Position(position.getRow() - 1, position.getColumn()); // Casa intermediária
-            if (getBoard().positionExists(p) && !getBoard().hasPiece(p) && getBoard().positionExists(p2) && !getBoard().hasPiece(p2) && getMoveCount() == 0) {
-                mat[p.getRow()][p.getColumn()] = true;
+        // 1 casa para frente
+        int one = from + forward;
+        if (one >= 0 && one < 64 && (empty & (1L << one)) != 0) {
+            if ((targets & (1L << one)) != 0) {
+                n = addMove(moves, n, from, one);
             }
-            // Captura diagonal esquerda
-            p.setValues(position.getRow() - 1, position.getColumn() - 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            // Captura diagonal direita
-            p.setValues(position.getRow() - 1, position.getColumn() + 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
+            // 2 casas para frente (primeiro movimento, ainda na linha inicial)
+            int two = one + forward;
+            int startRank = (getColor() == Color.WHITE) ? 1 : 6;
+            if ((from >>> 3) == startRank && (empty & targets & (1L << two)) != 0) {
+                moves[n++] = Move.of(from, two, Move.DOUBLE_PUSH);
             }
+        }
 
-            // #Specialmove en passant white
-            if (position.getRow() == 3) { // Na 5ª linha (índice 3 para branco)
-                Position left = new Position(position.getRow(), position.getColumn() - 1);
-                if (getBoard().positionExists(left) && isThereOpponentPiece(left) && getBoard().piece(left) == chessMatch.getEnPassantVulnerable()) {
-                    mat[left.getRow() - 1][left.getColumn()] = true;
-                }
-                Position right = new Position(position.getRow(), position.getColumn() + 1);
-                if (getBoard().positionExists(right) && isThereOpponentPiece(right) && getBoard().piece(right) == chessMatch.getEnPassantVulnerable()) {
-                    mat[right.getRow() - 1][right.getColumn()] = true;
-                }
-            }
-        } else { // Color.BLACK
-            // 1 casa para frente
-            p.setValues(position.getRow() + 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().hasPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            // 2 casas para frente (primeiro movimento)
-            p.setValues(position.getRow() + 2, position.getColumn());
-            Position p2 = new Position(position.getRow() + 1, position.getColumn()); // Casa intermediária
-            if (getBoard().positionExists(p) && !getBoard().hasPiece(p) && getBoard().positionExists(p2) && !getBoard().hasPiece(p2) && getMoveCount() == 0) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            // Captura diagonal esquerda
-            p.setValues(position.getRow() + 1, position.getColumn() - 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            // Captura diagonal direita
-            p.setValues(position.getRow() + 1, position.getColumn() + 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
+        // Capturas diagonais, vindas da tabela pré-calculada
+        long attacks = Attacks.pawn(getColor(), from);
+        long captures = attacks & board.getOccupied() & ~board.getPieces(getColor()) & targets;
+        while (captures != 0) {
+            n = addMove(moves, n, from, Long.numberOfTrailingZeros(captures));
+            captures &= captures - 1;
+        }
 
-            // #Specialmove en passant black
-            if (position.getRow() == 4) { // Na 4ª linha (índice 4 para preto)
-                Position left = new Position(position.getRow(), position.getColumn() - 1);
-                if (getBoard().positionExists(left) && isThereOpponentPiece(left) && getBoard().piece(left) == chessMatch.getEnPassantVulnerable()) {
-                    mat[left.getRow() + 1][left.getColumn()] = true;
-                }
-                Position right = new Position(position.getRow(), position.getColumn() + 1);
-                if (getBoard().positionExists(right) && isThereOpponentPiece(right) && getBoard().piece(right) == chessMatch.getEnPassantVulnerable()) {
-                    mat[right.getRow() + 1][right.getColumn()] = true;
-                }
-            }
+        // #Specialmove en passant: captura na casa que o peão adversário pulou ao avançar duas casas
+        int enPassant = chessMatch.getEnPassantSquare();
+        int enPassantRank = (getColor() == Color.WHITE) ? 5 : 2; // Só vale para o lado que pode capturar
+        if (enPassant >= 0 && (enPassant >>> 3) == enPassantRank && (attacks & (1L << enPassant)) != 0) {
+            moves[n++] = Move.of(from, enPassant, Move.EN_PASSANT);
+        }
+        return n;
+    }
+
+    // Adiciona o avanço ou captura, desdobrando em quatro lances quando chega à última linha (promoção)
+    private int addMove(int[] moves, int n, int from, int to) {
+        if (to >= 56 || to < 8) {
+            moves[n++] = Move.promotion(from, to, PieceType.QUEEN);
+            moves[n++] = Move.promotion(from, to, PieceType.ROOK);
+            moves[n++] = Move.promotion(from, to, PieceType.BISHOP);
+            moves[n++] = Move.promotion(from, to, PieceType.KNIGHT);
+        } else {
+            moves[n++] = Move.of(from, to);
         }
-        return mat;
+        return n;
     }
 }